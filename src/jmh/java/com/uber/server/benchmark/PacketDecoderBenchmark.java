@@ -0,0 +1,93 @@
+package com.uber.server.benchmark;
+
+import com.uber.server.encoding.base64.Base64Encoding;
+import com.uber.server.encoding.wire.WireEncoding;
+import com.uber.server.messages.ClientMessage;
+import com.uber.server.net.netty.codec.HabboPacketDecoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HabboPacketDecoder on one read holding a batch of client packets.
+ * The batch alternates walk requests (75, two wire integers) and chat lines (52, a Base64
+ * length-prefixed string), the two most frequent packets in a busy room. Reported time and
+ * allocation are per batch; divide by the batch size for the per-packet cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketDecoderBenchmark {
+    @Param({"1", "16", "64"})
+    public int packets;
+    
+    private EmbeddedChannel channel;
+    private ByteBuf batch;
+    
+    @Setup
+    public void setUp() {
+        channel = new EmbeddedChannel(new HabboPacketDecoder());
+        batch = Unpooled.directBuffer();
+        for (int i = 0; i < packets; i++) {
+            if (i % 2 == 0) {
+                byte[] body = new byte[WireEncoding.MAX_INTEGER_BYTE_AMOUNT * 2];
+                int length = WireEncoding.encodeInt32(i % 20, body, 0);
+                length += WireEncoding.encodeInt32(i % 13, body, length);
+                writePacket(batch, 75, body, length);
+            } else {
+                byte[] text = ("benchmark chat line " + i).getBytes(StandardCharsets.UTF_8);
+                byte[] body = new byte[2 + text.length];
+                Base64Encoding.encodeInt32(text.length, 2, body, 0);
+                System.arraycopy(text, 0, body, 2, text.length);
+                writePacket(batch, 52, body, body.length);
+            }
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+        batch.release();
+    }
+    
+    @Benchmark
+    public void decodeBatch(Blackhole blackhole) {
+        channel.writeInbound(batch.retainedDuplicate());
+        
+        ClientMessage message;
+        while ((message = channel.readInbound()) != null) {
+            blackhole.consume(message.getId());
+            message.release();
+        }
+    }
+    
+    /**
+     * Writes a client packet: [3 bytes: Base64 length][2 bytes: Base64 ID][body].
+     */
+    private static void writePacket(ByteBuf out, int messageId, byte[] body, int bodyLength) {
+        byte[] header = new byte[5];
+        Base64Encoding.encodeInt32(bodyLength + 2, 3, header, 0);
+        Base64Encoding.encodeInt32(messageId, 2, header, 3);
+        out.writeBytes(header);
+        out.writeBytes(body, 0, bodyLength);
+    }
+}
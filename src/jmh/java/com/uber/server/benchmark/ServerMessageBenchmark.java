@@ -0,0 +1,83 @@
+package com.uber.server.benchmark;
+
+import com.uber.server.messages.ServerMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a typical outgoing message and turning it into a frame.
+ * The message mirrors a single user entry in the room user list (28): wire integers and
+ * break-terminated strings in roughly the proportions most composers use.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerMessageBenchmark {
+    private ServerMessage message;
+    private ByteBuf out;
+    
+    @Setup
+    public void setUp() {
+        message = buildUserEntry();
+        out = Unpooled.buffer(message.getFrameLength());
+    }
+    
+    @TearDown
+    public void tearDown() {
+        out.release();
+    }
+    
+    @Benchmark
+    public ServerMessage append() {
+        return buildUserEntry();
+    }
+    
+    @Benchmark
+    public byte[] getBytes() {
+        return message.getBytes();
+    }
+    
+    @Benchmark
+    public int writeTo() {
+        out.clear();
+        message.writeTo(out);
+        return out.writerIndex();
+    }
+    
+    private static ServerMessage buildUserEntry() {
+        ServerMessage msg = new ServerMessage(28);
+        msg.appendInt32(1);
+        msg.appendUInt(123456);
+        msg.appendStringWithBreak("Benchmark");
+        msg.appendStringWithBreak("Measuring the codec");
+        msg.appendStringWithBreak("hd-180-1.ch-210-66.lg-270-82.sh-290-91.hr-100-");
+        msg.appendInt32(17);
+        msg.appendInt32(5);
+        msg.appendInt32(9);
+        msg.appendStringWithBreak("0.0");
+        msg.appendInt32(2);
+        msg.appendInt32(1);
+        msg.appendStringWithBreak("m");
+        msg.appendInt32(-1);
+        msg.appendInt32(-1);
+        msg.appendInt32(-1);
+        msg.appendStringWithBreak("");
+        return msg;
+    }
+}
@@ -0,0 +1,78 @@
+package com.uber.server.benchmark;
+
+import com.uber.server.game.rooms.RoomUser;
+import com.uber.server.messages.ServerMessage;
+import com.uber.server.messages.outgoing.rooms.UserStatusUpdateEventComposer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the room status update (34) that every room tick sends when users move.
+ * Half of the users are walking (an "mv" status), the rest stand or sit, which is the shape
+ * of a crowded public room.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusUpdateBenchmark {
+    @Param({"50", "100", "250", "500"})
+    public int users;
+    
+    private List<RoomUser> roomUsers;
+    private ByteBuf out;
+    
+    @Setup
+    public void setUp() {
+        roomUsers = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            RoomUser user = new RoomUser(1000 + i, 1, i, null);
+            int x = i % 25;
+            int y = i / 25;
+            user.setPos(x, y, 0.0);
+            if (i % 2 == 0) {
+                user.addStatus("mv", (x + 1) + "," + y + ",0.0");
+            } else if (i % 5 == 0) {
+                user.addStatus("sit", "1.0");
+            }
+            roomUsers.add(user);
+        }
+        out = Unpooled.buffer(64 * users);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        out.release();
+    }
+    
+    @Benchmark
+    public ServerMessage compose() {
+        return new UserStatusUpdateEventComposer(roomUsers).compose();
+    }
+    
+    @Benchmark
+    public int composeAndFrame() {
+        ServerMessage message = new UserStatusUpdateEventComposer(roomUsers).compose();
+        out.clear();
+        message.writeTo(out);
+        return out.writerIndex();
+    }
+}
@@ -0,0 +1,103 @@
+package com.uber.server.benchmark;
+
+import com.uber.server.encoding.base64.Base64Encoding;
+import com.uber.server.encoding.wire.WireEncoding;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of single integers in both wire formats.
+ * In-place variants are what the message hot paths use; the allocating variants are kept
+ * for comparison since a few older call sites still use them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireCodecBenchmark {
+    /** 1, 2, 4 and 6 byte wire encodings. */
+    @Param({"3", "200", "500000", "-2000000000"})
+    public int value;
+    
+    private byte[] scratch;
+    private byte[] wireEncoded;
+    private int wireLength;
+    private byte[] base64Encoded;
+    private ByteBuf base64Buffer;
+    private ByteBuf wireBuffer;
+    private int base64Value;
+    
+    @Setup
+    public void setUp() {
+        scratch = new byte[WireEncoding.MAX_INTEGER_BYTE_AMOUNT];
+        wireEncoded = WireEncoding.encodeInt32(value);
+        wireLength = wireEncoded.length;
+        base64Value = Math.abs(value) & 0x3FFFF; // Three Base64 bytes hold 18 bits
+        base64Encoded = Base64Encoding.encodeInt32(base64Value, 3);
+        base64Buffer = Unpooled.wrappedBuffer(base64Encoded);
+        wireBuffer = Unpooled.wrappedBuffer(wireEncoded);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        base64Buffer.release();
+        wireBuffer.release();
+    }
+    
+    @Benchmark
+    public int wireEncodeInPlace() {
+        return WireEncoding.encodeInt32(value, scratch, 0);
+    }
+    
+    @Benchmark
+    public byte[] wireEncodeAllocating() {
+        return WireEncoding.encodeInt32(value);
+    }
+    
+    @Benchmark
+    public int wireDecodeArray() {
+        return WireEncoding.decodeInt32(wireEncoded, 0, wireLength);
+    }
+    
+    @Benchmark
+    public int wireDecodeBuffer() {
+        return WireEncoding.decodeInt32(wireBuffer, 0, wireLength);
+    }
+    
+    @Benchmark
+    public byte[] base64EncodeInPlace() {
+        Base64Encoding.encodeInt32(base64Value, 3, scratch, 0);
+        return scratch;
+    }
+    
+    @Benchmark
+    public byte[] base64EncodeAllocating() {
+        return Base64Encoding.encodeInt32(base64Value, 3);
+    }
+    
+    @Benchmark
+    public int base64DecodeArray() {
+        return Base64Encoding.decodeInt32(base64Encoded, 0, 3);
+    }
+    
+    @Benchmark
+    public int base64DecodeBuffer() {
+        return Base64Encoding.decodeInt32(base64Buffer, 0, 3);
+    }
+}
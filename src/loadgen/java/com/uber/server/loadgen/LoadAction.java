@@ -0,0 +1,53 @@
+package com.uber.server.loadgen;
+
+/**
+ * Things a synthetic user does, with the default share of the action mix.
+ * LOGIN happens once per connection and is not part of the mix; the weights of the other
+ * actions can be overridden with --mix (for example --mix walk=60,chat=30,catalog=10).
+ */
+public enum LoadAction {
+    /** SSOTicketMessageComposer (415), answered by AuthenticationOK (3). */
+    LOGIN("login", 0),
+    /** OpenConnection (391) + GetRoomData2/3 (390/126), answered by the room user list (28). */
+    ENTER_ROOM("enter", 2),
+    /** MoveAvatar (75), answered by the next status update (34) the room sends. */
+    WALK("walk", 50),
+    /** Chat (52), answered by our own chat line (24) coming back from the room. */
+    CHAT("chat", 25),
+    /** InitTrade (71) with a user seen in the room, answered by TradeStart (104). */
+    TRADE("trade", 3),
+    /** Popular rooms or text search (430/437), answered by the search result (451). */
+    NAVIGATOR("navigator", 10),
+    /** Catalog index or page (101/102), answered by 126/127. */
+    CATALOG("catalog", 10);
+    
+    private final String configName;
+    private final int defaultWeight;
+    
+    LoadAction(String configName, int defaultWeight) {
+        this.configName = configName;
+        this.defaultWeight = defaultWeight;
+    }
+    
+    public String getConfigName() {
+        return configName;
+    }
+    
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+    
+    /**
+     * Gets an action by its configuration name.
+     * @param name Name as used with --mix
+     * @return Action, or null if unknown
+     */
+    public static LoadAction fromConfigName(String name) {
+        for (LoadAction action : values()) {
+            if (action.configName.equalsIgnoreCase(name)) {
+                return action;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,153 @@
+package com.uber.server.loadgen;
+
+import com.uber.server.loadgen.codec.ClientPacketEncoder;
+import com.uber.server.loadgen.codec.ServerPacketDecoder;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless load generator for a local server.
+ * Opens one connection per synthetic user at the configured ramp rate, lets the users run
+ * their action mix for the configured duration and reports throughput and round trip
+ * percentiles per action at a fixed interval and once more at the end.
+ * Run with: ./gradlew loadgen --args="--users 500 --rooms 1,2,3"
+ */
+public class LoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+    
+    private final LoadGeneratorConfig config;
+    private final LoadStatistics statistics;
+    private final long[] lastCompleted; // Completed count per action at the previous report
+    private long startTime;
+    private long lastReportTime;
+    
+    public LoadGenerator(LoadGeneratorConfig config) {
+        this.config = config;
+        this.statistics = new LoadStatistics();
+        this.lastCompleted = new long[LoadAction.values().length];
+    }
+    
+    public static void main(String[] args) {
+        LoadGeneratorConfig config;
+        try {
+            config = LoadGeneratorConfig.parse(args);
+            config.requireLoopback();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadGeneratorConfig.usage());
+            System.exit(1);
+            return;
+        }
+        
+        try {
+            new LoadGenerator(config).run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Runs the ramp-up and the measurement period, then disconnects every user.
+     */
+    public void run() throws InterruptedException {
+        EventLoopGroup group = new NioEventLoopGroup();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "LoadGenerator-Report");
+            t.setDaemon(true);
+            return t;
+        });
+        List<Channel> channels = new ArrayList<>(config.getUsers());
+        
+        try {
+            Bootstrap bootstrap = new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, config.getTimeoutMillis());
+            
+            logger.info("Connecting {} users to {}:{} at {}/s", config.getUsers(), config.getHost(),
+                config.getPort(), config.getRampPerSecond());
+            startTime = System.nanoTime();
+            lastReportTime = startTime;
+            reporter.scheduleAtFixedRate(() -> report(false), config.getReportSeconds(),
+                config.getReportSeconds(), TimeUnit.SECONDS);
+            
+            long gap = TimeUnit.SECONDS.toNanos(1) / config.getRampPerSecond();
+            for (int i = 0; i < config.getUsers(); i++) {
+                SyntheticUser user = new SyntheticUser(i, config, statistics);
+                bootstrap.handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast("decoder", new ServerPacketDecoder());
+                        ch.pipeline().addLast("encoder", new ClientPacketEncoder());
+                        ch.pipeline().addLast("user", user);
+                    }
+                });
+                channels.add(bootstrap.connect(config.getHost(), config.getPort()).channel());
+                
+                long wait = startTime + (i + 1) * gap - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+            }
+            
+            logger.info("Ramp-up finished, running for {}s", config.getDurationSeconds());
+            TimeUnit.SECONDS.sleep(config.getDurationSeconds());
+        } finally {
+            reporter.shutdownNow();
+            for (Channel channel : channels) {
+                channel.close();
+            }
+            group.shutdownGracefully().syncUninterruptibly();
+            report(true);
+        }
+    }
+    
+    /**
+     * Logs the counters and percentiles so far.
+     * @param total True for the final report, with rates over the whole run instead of the last interval
+     */
+    private synchronized void report(boolean total) {
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-3, (now - (total ? startTime : lastReportTime)) / 1e9);
+        lastReportTime = now;
+        
+        logger.info("{}: {} connected, {} disconnected, {} messages sent, {} received",
+            total ? "Totals" : "Progress", statistics.getConnected(), statistics.getDisconnected(),
+            statistics.getMessagesSent(), statistics.getMessagesReceived());
+        String rowFormat = "  %-10s %9s %9s %8s %9s %9s %9s %9s %9s";
+        logger.info(String.format(rowFormat, "action", "sent", "ok", "failed", "ok/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (LoadAction action : LoadAction.values()) {
+            long completed = statistics.getCompleted(action);
+            long sent = statistics.getSent(action);
+            if (sent == 0) {
+                continue;
+            }
+            
+            double rate = (total ? completed : completed - lastCompleted[action.ordinal()]) / seconds;
+            lastCompleted[action.ordinal()] = completed;
+            logger.info(String.format(rowFormat, action.getConfigName(), sent, completed, statistics.getFailed(action),
+                String.format("%.1f", rate),
+                millis(statistics.getPercentileMicros(action, 50)), millis(statistics.getPercentileMicros(action, 90)),
+                millis(statistics.getPercentileMicros(action, 99)), millis(statistics.getMaxMicros(action))));
+        }
+    }
+    
+    private static String millis(long micros) {
+        return String.format("%.1f", micros / 1000.0);
+    }
+}
@@ -0,0 +1,214 @@
+package com.uber.server.loadgen;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load generator settings, parsed from "--name value" command line arguments.
+ * Synthetic users log in with SSO tickets built from a format string, so the matching rows
+ * must exist in the users table (auth_ticket = String.format(ticketFormat, index)).
+ */
+public class LoadGeneratorConfig {
+    private String host = "127.0.0.1";
+    private int port = 30001;
+    private int users = 100;
+    private int rampPerSecond = 50;
+    private int durationSeconds = 300;
+    private int reportSeconds = 10;
+    private int timeoutMillis = 10000;
+    private int actionsPerMinute = 20; // Per user, spread with random (exponential) gaps
+    private String ticketFormat = "loadgen-sso-%06d";
+    private int firstTicket = 1;
+    private final List<Integer> roomIds = new ArrayList<>();
+    private final List<Integer> catalogPages = new ArrayList<>();
+    private final int[] weights = new int[LoadAction.values().length];
+    
+    public LoadGeneratorConfig() {
+        for (LoadAction action : LoadAction.values()) {
+            weights[action.ordinal()] = action.getDefaultWeight();
+        }
+    }
+    
+    /**
+     * Parses command line arguments.
+     * @param args Arguments as passed to main
+     * @return Parsed settings
+     * @throws IllegalArgumentException If an argument is unknown or invalid
+     */
+    public static LoadGeneratorConfig parse(String[] args) {
+        LoadGeneratorConfig config = new LoadGeneratorConfig();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (!name.startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got: " + name);
+            }
+            String value = args[++i];
+            switch (name.substring(2)) {
+                case "host" -> config.host = value;
+                case "port" -> config.port = parsePositive(name, value);
+                case "users" -> config.users = parsePositive(name, value);
+                case "ramp" -> config.rampPerSecond = parsePositive(name, value);
+                case "duration" -> config.durationSeconds = parsePositive(name, value);
+                case "report" -> config.reportSeconds = parsePositive(name, value);
+                case "timeout" -> config.timeoutMillis = parsePositive(name, value);
+                case "rate" -> config.actionsPerMinute = parsePositive(name, value);
+                case "ticket" -> config.ticketFormat = value;
+                case "first" -> config.firstTicket = parsePositive(name, value);
+                case "rooms" -> config.roomIds.addAll(parseList(name, value));
+                case "catalog-pages" -> config.catalogPages.addAll(parseList(name, value));
+                case "mix" -> config.parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown argument: " + name);
+            }
+        }
+        
+        if (config.roomIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one room is required (--rooms 1,2,3)");
+        }
+        return config;
+    }
+    
+    /**
+     * Checks that the target is this machine. Load is only ever generated against localhost.
+     * @throws IllegalArgumentException If the host is not a loopback address
+     */
+    public void requireLoopback() {
+        try {
+            if (!InetAddress.getByName(host).isLoopbackAddress()) {
+                throw new IllegalArgumentException("Refusing to generate load against non-local host " + host);
+            }
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Unknown host " + host);
+        }
+    }
+    
+    private void parseMix(String value) {
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            LoadAction action = pair.length == 2 ? LoadAction.fromConfigName(pair[0].trim()) : null;
+            if (action == null || action == LoadAction.LOGIN) {
+                throw new IllegalArgumentException("Invalid --mix entry: " + part);
+            }
+            try {
+                weights[action.ordinal()] = Math.max(0, Integer.parseInt(pair[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid --mix weight: " + part);
+            }
+        }
+    }
+    
+    private static int parsePositive(String name, String value) {
+        try {
+            int result = Integer.parseInt(value);
+            if (result > 0) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through
+        }
+        throw new IllegalArgumentException(name + " must be a positive number, got: " + value);
+    }
+    
+    private static List<Integer> parseList(String name, String value) {
+        List<Integer> result = new ArrayList<>();
+        for (String part : value.split(",")) {
+            result.add(parsePositive(name, part.trim()));
+        }
+        return result;
+    }
+    
+    /**
+     * Describes the command line arguments.
+     */
+    public static String usage() {
+        return """
+            Usage: loadgen --rooms <id,...> [options]
+              --host <host>            Server host, must be local (default 127.0.0.1)
+              --port <port>            Game port (default 30001)
+              --users <n>              Synthetic users (default 100)
+              --ramp <n>               Connections opened per second (default 50)
+              --duration <s>           Run time after the ramp-up (default 300)
+              --report <s>             Report interval (default 10)
+              --timeout <ms>           Time before an unanswered request counts as timed out (default 10000)
+              --rate <n>               Actions per user per minute (default 20)
+              --ticket <format>        SSO ticket format, %d is the user index (default loadgen-sso-%06d)
+              --first <n>              First user index (default 1)
+              --rooms <id,...>         Rooms users enter
+              --catalog-pages <id,...> Catalog pages users open (index only if omitted)
+              --mix <name=weight,...>  Action weights: enter, walk, chat, trade, navigator, catalog
+            """;
+    }
+    
+    public String getHost() {
+        return host;
+    }
+    
+    public int getPort() {
+        return port;
+    }
+    
+    public int getUsers() {
+        return users;
+    }
+    
+    public int getRampPerSecond() {
+        return rampPerSecond;
+    }
+    
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public int getReportSeconds() {
+        return reportSeconds;
+    }
+    
+    public int getTimeoutMillis() {
+        return timeoutMillis;
+    }
+    
+    public int getActionsPerMinute() {
+        return actionsPerMinute;
+    }
+    
+    public String getTicket(int index) {
+        return String.format(ticketFormat, firstTicket + index);
+    }
+    
+    public List<Integer> getRoomIds() {
+        return roomIds;
+    }
+    
+    public List<Integer> getCatalogPages() {
+        return catalogPages;
+    }
+    
+    public int getWeight(LoadAction action) {
+        return weights[action.ordinal()];
+    }
+    
+    /**
+     * Picks the next action according to the mix weights.
+     * @param random Random source of the calling thread
+     * @return Action, or null if every weight is zero
+     */
+    public LoadAction pickAction(java.util.Random random) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        if (total == 0) {
+            return null;
+        }
+        
+        int roll = random.nextInt(total);
+        for (LoadAction action : LoadAction.values()) {
+            roll -= weights[action.ordinal()];
+            if (roll < 0) {
+                return action;
+            }
+        }
+        return null;
+    }
+}
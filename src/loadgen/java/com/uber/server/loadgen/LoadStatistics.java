@@ -0,0 +1,141 @@
+package com.uber.server.loadgen;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Request counters and round trip histograms per action, shared by all synthetic users.
+ * Latencies go into power-of-two microsecond buckets like the server's PacketStatistics
+ * (bucket 0 is under 1us, bucket n covers [2^(n-1), 2^n) us, the last bucket is open-ended).
+ */
+public class LoadStatistics {
+    public static final int BUCKETS = 26; // Up to ~33s, last bucket catches the rest
+    
+    private static final int ACTIONS = LoadAction.values().length;
+    
+    private final AtomicLongArray sent;
+    private final AtomicLongArray completed;
+    private final AtomicLongArray failed;
+    private final AtomicLongArray maxNanos;
+    private final AtomicLongArray histogram; // [action * BUCKETS + bucket]
+    private final AtomicLong messagesSent;
+    private final AtomicLong messagesReceived;
+    private final AtomicLong connected;
+    private final AtomicLong disconnected;
+    
+    public LoadStatistics() {
+        this.sent = new AtomicLongArray(ACTIONS);
+        this.completed = new AtomicLongArray(ACTIONS);
+        this.failed = new AtomicLongArray(ACTIONS);
+        this.maxNanos = new AtomicLongArray(ACTIONS);
+        this.histogram = new AtomicLongArray(ACTIONS * BUCKETS);
+        this.messagesSent = new AtomicLong();
+        this.messagesReceived = new AtomicLong();
+        this.connected = new AtomicLong();
+        this.disconnected = new AtomicLong();
+    }
+    
+    public void recordSent(LoadAction action) {
+        sent.incrementAndGet(action.ordinal());
+    }
+    
+    /**
+     * Records an answered request.
+     * @param action Action the request belonged to
+     * @param nanos Time from sending the request to receiving the answer
+     */
+    public void recordCompleted(LoadAction action, long nanos) {
+        int i = action.ordinal();
+        completed.incrementAndGet(i);
+        histogram.incrementAndGet(i * BUCKETS + bucketFor(nanos));
+        
+        long max;
+        while (nanos > (max = maxNanos.get(i))) {
+            if (maxNanos.compareAndSet(i, max, nanos)) {
+                break;
+            }
+        }
+    }
+    
+    public void recordFailed(LoadAction action) {
+        failed.incrementAndGet(action.ordinal());
+    }
+    
+    public void recordMessageSent() {
+        messagesSent.incrementAndGet();
+    }
+    
+    public void recordMessageReceived() {
+        messagesReceived.incrementAndGet();
+    }
+    
+    public void recordConnected() {
+        connected.incrementAndGet();
+    }
+    
+    public void recordDisconnected() {
+        disconnected.incrementAndGet();
+    }
+    
+    public long getSent(LoadAction action) {
+        return sent.get(action.ordinal());
+    }
+    
+    public long getCompleted(LoadAction action) {
+        return completed.get(action.ordinal());
+    }
+    
+    public long getFailed(LoadAction action) {
+        return failed.get(action.ordinal());
+    }
+    
+    public long getMaxMicros(LoadAction action) {
+        return maxNanos.get(action.ordinal()) / 1000;
+    }
+    
+    public long getMessagesSent() {
+        return messagesSent.get();
+    }
+    
+    public long getMessagesReceived() {
+        return messagesReceived.get();
+    }
+    
+    public long getConnected() {
+        return connected.get();
+    }
+    
+    public long getDisconnected() {
+        return disconnected.get();
+    }
+    
+    /**
+     * Gets an upper bound for a round trip percentile from the histogram.
+     * @param action Action
+     * @param percentile Percentile (0-100)
+     * @return Upper edge of the bucket holding the percentile, in microseconds
+     */
+    public long getPercentileMicros(LoadAction action, double percentile) {
+        int base = action.ordinal() * BUCKETS;
+        long total = completed.get(action.ordinal());
+        if (total == 0) {
+            return 0;
+        }
+        
+        long target = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram.get(base + b);
+            if (seen >= target) {
+                return b == 0 ? 1 : 1L << b;
+            }
+        }
+        return 1L << (BUCKETS - 1);
+    }
+    
+    private static int bucketFor(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+}
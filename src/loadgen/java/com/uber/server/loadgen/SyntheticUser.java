@@ -0,0 +1,380 @@
+package com.uber.server.loadgen;
+
+import com.uber.server.encoding.base64.Base64Encoding;
+import com.uber.server.encoding.wire.WireEncoding;
+import com.uber.server.loadgen.codec.ClientPacketEncoder;
+import com.uber.server.messages.ServerMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulated client: logs in with an SSO ticket, enters a room and then performs
+ * actions from the configured mix at random intervals.
+ * Every request that the server answers is kept as pending until a packet with the expected
+ * response ID arrives, and the round trip is recorded in the shared statistics. All state is
+ * only touched from the channel's event loop.
+ */
+public class SyntheticUser extends ChannelInboundHandlerAdapter {
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticUser.class);
+    private static final int MAX_KNOWN_USERS = 50;
+    private static final int MAP_SIZE = 12; // Walk targets are picked in [0, MAP_SIZE) on both axes
+    private static final long TRADE_HOLD_MILLIS = 1000;
+    
+    // Requests (client to server)
+    private static final int SSO_TICKET = 415;
+    private static final int OPEN_CONNECTION = 391;
+    private static final int GET_ROOM_DATA_2 = 390;
+    private static final int GET_ROOM_DATA_3 = 126;
+    private static final int MOVE_AVATAR = 75;
+    private static final int CHAT = 52;
+    private static final int INIT_TRADE = 71;
+    private static final int STOP_TRADE = 70;
+    private static final int POPULAR_ROOMS_SEARCH = 430;
+    private static final int ROOM_TEXT_SEARCH = 437;
+    private static final int GET_CATALOG_INDEX = 101;
+    private static final int GET_CATALOG_PAGE = 102;
+    private static final int PONG = 196;
+    
+    // Responses (server to client)
+    private static final int AUTHENTICATION_OK = 3;
+    private static final int ROOM_ENTRY_ERROR = 18;
+    private static final int USERS = 28;
+    private static final int STATUS_UPDATE = 34;
+    private static final int CHAT_MESSAGE = 24;
+    private static final int PING = 50;
+    private static final int TRADE_START = 104;
+    private static final int FLAT_ACCESS_DENIED = 131;
+    private static final int ROOM_SEARCH_RESULT = 451;
+    private static final int CATALOG_INDEX = 126;
+    private static final int CATALOG_PAGE = 127;
+    
+    private enum State { CONNECTING, LOGGING_IN, ENTERING, IN_ROOM, CLOSED }
+    
+    private final int index;
+    private final LoadGeneratorConfig config;
+    private final LoadStatistics statistics;
+    private final ArrayDeque<PendingRequest> pending;
+    private final List<Long> roomUserIds; // Users seen joining our room, trade partners
+    private Channel channel;
+    private State state = State.CONNECTING;
+    private int chatSequence;
+    private ScheduledFuture<?> nextAction;
+    private ScheduledFuture<?> expiry;
+    
+    /**
+     * @param index User index, used for the SSO ticket and chat markers
+     * @param config Load generator settings
+     * @param statistics Shared statistics
+     */
+    public SyntheticUser(int index, LoadGeneratorConfig config, LoadStatistics statistics) {
+        this.index = index;
+        this.config = config;
+        this.statistics = statistics;
+        this.pending = new ArrayDeque<>();
+        this.roomUserIds = new ArrayList<>();
+    }
+    
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        channel = ctx.channel();
+        statistics.recordConnected();
+        expiry = channel.eventLoop().scheduleAtFixedRate(this::expirePending, 1, 1, TimeUnit.SECONDS);
+        
+        state = State.LOGGING_IN;
+        ServerMessage login = new ServerMessage(SSO_TICKET);
+        ClientPacketEncoder.appendFixedString(login, config.getTicket(index));
+        request(LoadAction.LOGIN, login, AUTHENTICATION_OK, null);
+        
+        super.channelActive(ctx);
+    }
+    
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        ByteBuf packet = (ByteBuf) msg;
+        try {
+            statistics.recordMessageReceived();
+            int messageId = Base64Encoding.decodeInt32(packet, packet.readerIndex(), ServerMessage.HEADER_LENGTH);
+            packet.skipBytes(ServerMessage.HEADER_LENGTH);
+            handlePacket(messageId, packet);
+        } finally {
+            packet.release();
+        }
+    }
+    
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (state != State.LOGGING_IN || pending.isEmpty()) {
+            logger.debug("User {} disconnected", index);
+        } else {
+            logger.warn("User {} disconnected during login, check that ticket {} exists", index, config.getTicket(index));
+        }
+        
+        state = State.CLOSED;
+        statistics.recordDisconnected();
+        pending.clear();
+        if (nextAction != null) {
+            nextAction.cancel(false);
+        }
+        if (expiry != null) {
+            expiry.cancel(false);
+        }
+        super.channelInactive(ctx);
+    }
+    
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        logger.debug("User {} connection error: {}", index, cause.getMessage());
+        ctx.close();
+    }
+    
+    private void handlePacket(int messageId, ByteBuf body) {
+        switch (messageId) {
+            case PING -> send(new ServerMessage(PONG));
+            case AUTHENTICATION_OK -> {
+                if (state == State.LOGGING_IN && complete(messageId, body)) {
+                    enterRoom();
+                }
+            }
+            case USERS -> {
+                if (state == State.ENTERING) {
+                    if (complete(messageId, body)) {
+                        state = State.IN_ROOM;
+                        scheduleNextAction();
+                    }
+                } else if (state == State.IN_ROOM) {
+                    rememberJoinedUser(body);
+                }
+            }
+            case ROOM_ENTRY_ERROR, FLAT_ACCESS_DENIED -> {
+                if (state == State.ENTERING) {
+                    failEntry();
+                }
+            }
+            case TRADE_START -> {
+                if (complete(messageId, body)) {
+                    // Close the trade again after a moment so partners stay available
+                    channel.eventLoop().schedule(() -> send(new ServerMessage(STOP_TRADE)),
+                        TRADE_HOLD_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            }
+            default -> complete(messageId, body);
+        }
+    }
+    
+    /**
+     * Opens a random room from the configured list: OpenConnection followed by the room data
+     * requests the client sends once the connection is accepted.
+     */
+    private void enterRoom() {
+        List<Integer> rooms = config.getRoomIds();
+        int roomId = rooms.get(ThreadLocalRandom.current().nextInt(rooms.size()));
+        state = State.ENTERING;
+        roomUserIds.clear();
+        
+        ServerMessage open = new ServerMessage(OPEN_CONNECTION);
+        open.appendInt32(roomId);
+        ClientPacketEncoder.appendFixedString(open, ""); // Password
+        open.appendInt32(0);
+        request(LoadAction.ENTER_ROOM, open, USERS, null);
+        
+        ServerMessage data2 = new ServerMessage(GET_ROOM_DATA_2);
+        data2.appendInt32(roomId);
+        send(data2);
+        
+        ServerMessage data3 = new ServerMessage(GET_ROOM_DATA_3);
+        data3.appendInt32(roomId);
+        send(data3);
+    }
+    
+    private void failEntry() {
+        for (Iterator<PendingRequest> it = pending.iterator(); it.hasNext(); ) {
+            PendingRequest request = it.next();
+            if (request.action == LoadAction.ENTER_ROOM) {
+                it.remove();
+                statistics.recordFailed(LoadAction.ENTER_ROOM);
+            }
+        }
+        channel.eventLoop().schedule(this::enterRoom, 1, TimeUnit.SECONDS);
+    }
+    
+    private void scheduleNextAction() {
+        // Exponential gaps give Poisson arrivals across the whole user population
+        double meanMillis = 60000.0 / config.getActionsPerMinute();
+        long delay = (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanMillis);
+        nextAction = channel.eventLoop().schedule(this::performAction, Math.max(delay, 1), TimeUnit.MILLISECONDS);
+    }
+    
+    private void performAction() {
+        if (state != State.IN_ROOM) {
+            return;
+        }
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LoadAction action = config.pickAction(random);
+        if (action == LoadAction.TRADE && roomUserIds.isEmpty()) {
+            action = LoadAction.WALK; // Nobody to trade with yet
+        }
+        
+        if (action == null) {
+            return;
+        }
+        
+        switch (action) {
+            case ENTER_ROOM -> {
+                enterRoom();
+                return; // The next action is scheduled once the room is entered
+            }
+            case WALK -> {
+                ServerMessage move = new ServerMessage(MOVE_AVATAR);
+                move.appendInt32(random.nextInt(MAP_SIZE));
+                move.appendInt32(random.nextInt(MAP_SIZE));
+                request(action, move, STATUS_UPDATE, null);
+            }
+            case CHAT -> {
+                // Our own line comes back from the room; the marker tells it apart from others
+                String text = "lg" + index + "#" + (chatSequence++);
+                ServerMessage chat = new ServerMessage(CHAT);
+                ClientPacketEncoder.appendFixedString(chat, text);
+                request(action, chat, CHAT_MESSAGE, text.getBytes(StandardCharsets.UTF_8));
+            }
+            case TRADE -> {
+                ServerMessage trade = new ServerMessage(INIT_TRADE);
+                trade.appendUInt(roomUserIds.get(random.nextInt(roomUserIds.size())));
+                request(action, trade, TRADE_START, null);
+            }
+            case NAVIGATOR -> {
+                ServerMessage search;
+                if (random.nextBoolean()) {
+                    search = new ServerMessage(POPULAR_ROOMS_SEARCH);
+                    ClientPacketEncoder.appendFixedString(search, "-1");
+                } else {
+                    search = new ServerMessage(ROOM_TEXT_SEARCH);
+                    ClientPacketEncoder.appendFixedString(search, "loadgen");
+                }
+                request(action, search, ROOM_SEARCH_RESULT, null);
+            }
+            case CATALOG -> {
+                List<Integer> pages = config.getCatalogPages();
+                if (pages.isEmpty() || random.nextInt(4) == 0) {
+                    request(action, new ServerMessage(GET_CATALOG_INDEX), CATALOG_INDEX, null);
+                } else {
+                    ServerMessage page = new ServerMessage(GET_CATALOG_PAGE);
+                    page.appendInt32(pages.get(random.nextInt(pages.size())));
+                    request(action, page, CATALOG_PAGE, null);
+                }
+            }
+            default -> { }
+        }
+        scheduleNextAction();
+    }
+    
+    /**
+     * Remembers the user in a single-user join broadcast (28 with a count of 1).
+     * Only the leading count and user ID are decoded.
+     */
+    private void rememberJoinedUser(ByteBuf body) {
+        if (roomUserIds.size() >= MAX_KNOWN_USERS || !body.isReadable()) {
+            return;
+        }
+        
+        int offset = body.readerIndex();
+        int count = WireEncoding.decodeInt32(body, offset, body.readableBytes());
+        offset += WireEncoding.getDecodedLength(body.getByte(offset));
+        if (count == 1 && offset < body.writerIndex()) {
+            long userId = WireEncoding.decodeInt32(body, offset, body.writerIndex() - offset);
+            if (userId > 0 && !roomUserIds.contains(userId)) {
+                roomUserIds.add(userId);
+            }
+        }
+    }
+    
+    private void request(LoadAction action, ServerMessage request, int responseId, byte[] marker) {
+        pending.add(new PendingRequest(action, responseId, marker, System.nanoTime()));
+        statistics.recordSent(action);
+        send(request);
+    }
+    
+    private void send(ServerMessage request) {
+        if (channel != null && channel.isActive()) {
+            statistics.recordMessageSent();
+            channel.writeAndFlush(request);
+        }
+    }
+    
+    /**
+     * Completes the oldest pending request that this packet answers.
+     * @return True if a pending request was completed
+     */
+    private boolean complete(int messageId, ByteBuf body) {
+        for (Iterator<PendingRequest> it = pending.iterator(); it.hasNext(); ) {
+            PendingRequest request = it.next();
+            if (request.responseId == messageId && (request.marker == null || contains(body, request.marker))) {
+                it.remove();
+                statistics.recordCompleted(request.action, System.nanoTime() - request.sentAt);
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void expirePending() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(config.getTimeoutMillis());
+        boolean entryExpired = false;
+        for (Iterator<PendingRequest> it = pending.iterator(); it.hasNext(); ) {
+            PendingRequest request = it.next();
+            if (request.sentAt - deadline < 0) {
+                it.remove();
+                statistics.recordFailed(request.action);
+                entryExpired |= request.action == LoadAction.ENTER_ROOM;
+            }
+        }
+        
+        if (entryExpired && state == State.ENTERING) {
+            enterRoom();
+        }
+    }
+    
+    private static boolean contains(ByteBuf body, byte[] marker) {
+        int last = body.writerIndex() - marker.length;
+        outer:
+        for (int i = body.readerIndex(); i <= last; i++) {
+            for (int j = 0; j < marker.length; j++) {
+                if (body.getByte(i + j) != marker[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * A request waiting for its response.
+     */
+    private static final class PendingRequest {
+        private final LoadAction action;
+        private final int responseId;
+        private final byte[] marker; // Bytes the response body must contain, or null
+        private final long sentAt;
+        
+        private PendingRequest(LoadAction action, int responseId, byte[] marker, long sentAt) {
+            this.action = action;
+            this.responseId = responseId;
+            this.marker = marker;
+            this.sentAt = sentAt;
+        }
+    }
+}
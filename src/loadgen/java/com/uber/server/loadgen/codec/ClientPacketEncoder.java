@@ -0,0 +1,41 @@
+package com.uber.server.loadgen.codec;
+
+import com.uber.server.encoding.base64.Base64Encoding;
+import com.uber.server.messages.ServerMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * Encodes requests the way the Habbo client does, the reverse of HabboPacketDecoder.
+ * Requests are built with ServerMessage (same wire integers and strings) and framed as
+ * [3 bytes: Base64 length][2 bytes: Base64 ID][body].
+ */
+public class ClientPacketEncoder extends MessageToByteEncoder<ServerMessage> {
+    private static final int LENGTH_BYTES = 3;
+    
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, ServerMessage request, boolean preferDirect) throws Exception {
+        return ctx.alloc().ioBuffer(LENGTH_BYTES + ServerMessage.HEADER_LENGTH + request.getLength());
+    }
+    
+    @Override
+    protected void encode(ChannelHandlerContext ctx, ServerMessage request, ByteBuf out) throws Exception {
+        // Written straight into the pooled buffer, no intermediate frame array
+        Base64Encoding.encodeInt32(ServerMessage.HEADER_LENGTH + request.getLength(), LENGTH_BYTES, out);
+        Base64Encoding.encodeInt32((int) request.getId(), ServerMessage.HEADER_LENGTH, out);
+        request.writeBodyTo(out);
+    }
+    
+    /**
+     * Appends a string as the client sends it: Base64 length prefix followed by the bytes.
+     * This is what ClientMessage.popFixedString reads on the server.
+     * @param request Request being built
+     * @param value String value
+     */
+    public static void appendFixedString(ServerMessage request, String value) {
+        byte[] bytes = value.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        request.appendBytes(Base64Encoding.encodeInt32(bytes.length, 2));
+        request.appendBytes(bytes);
+    }
+}
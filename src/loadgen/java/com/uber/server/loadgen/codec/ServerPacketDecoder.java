@@ -0,0 +1,40 @@
+package com.uber.server.loadgen.codec;
+
+import com.uber.server.messages.ServerMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+
+import java.util.List;
+
+/**
+ * Splits the server's byte stream into packets, the reverse of HabboPacketEncoder.
+ * Each output is a retained slice holding [2 bytes: Base64 ID][body] without the 0x01
+ * terminator; the receiver must release it.
+ */
+public class ServerPacketDecoder extends ByteToMessageDecoder {
+    private static final int MAX_PACKET_LENGTH = 1024 * 1024;
+    
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        while (in.isReadable()) {
+            int start = in.readerIndex();
+            int end = in.indexOf(start, in.writerIndex(), ServerMessage.TERMINATOR);
+            if (end < 0) {
+                if (in.readableBytes() > MAX_PACKET_LENGTH) {
+                    throw new TooLongFrameException("Server packet exceeds " + MAX_PACKET_LENGTH + " bytes");
+                }
+                return;
+            }
+            
+            int length = end - start;
+            if (length >= ServerMessage.HEADER_LENGTH) {
+                out.add(in.readRetainedSlice(length));
+            } else {
+                in.skipBytes(length);
+            }
+            in.skipBytes(1); // Terminator
+        }
+    }
+}
@@ -105,12 +105,149 @@ public class CommandParser {
                     }
                 }
             }
+            case "packet_stats" -> {
+                com.uber.server.messages.PacketHandlerRegistry registry = environment.getHandlerRegistry();
+                com.uber.server.messages.PacketStatistics statistics = registry.getStatistics();
+                if (params.length >= 2 && params[1].equalsIgnoreCase("reset")) {
+                    statistics.reset();
+                    logger.info("Packet statistics reset.");
+                } else {
+                    boolean byCount = params.length >= 2 && params[1].equalsIgnoreCase("count");
+                    int limit = 20;
+                    if (params.length >= 3) {
+                        try {
+                            limit = Integer.parseInt(params[2]);
+                        } catch (NumberFormatException e) {
+                            logger.warn("Usage: packet_stats [time|count|reset] [limit]");
+                            return;
+                        }
+                    }
+                    
+                    java.util.List<com.uber.server.messages.PacketStatistics.Entry> entries = statistics.snapshot(byCount
+                        ? com.uber.server.messages.PacketStatistics.Entry.BY_COUNT
+                        : com.uber.server.messages.PacketStatistics.Entry.BY_TOTAL_TIME);
+                    long seconds = Math.max(1, (System.currentTimeMillis() - statistics.getResetTime()) / 1000);
+                    logger.info("Packet handler statistics over the last {}s (sorted by {}):", seconds, byCount ? "count" : "total time");
+                    String rowFormat = "  %5s %-36s %10s %10s %9s %9s %9s %9s";
+                    logger.info(String.format(rowFormat, "id", "handler", "count", "total ms", "mean us", "p50 us", "p99 us", "max us"));
+                    for (int i = 0; i < entries.size() && i < limit; i++) {
+                        com.uber.server.messages.PacketStatistics.Entry entry = entries.get(i);
+                        com.uber.server.messages.PacketHandler handler = registry.getHandler(entry.getMessageId());
+                        logger.info(String.format(rowFormat, entry.getMessageId(),
+                            handler != null ? handler.getClass().getSimpleName() : "-",
+                            entry.getCount(), entry.getTotalNanos() / 1_000_000, entry.getMeanNanos() / 1000,
+                            entry.getPercentileMicros(50), entry.getPercentileMicros(99), entry.getMaxNanos() / 1000));
+                    }
+                }
+            }
+            case "ratelimits" -> {
+                com.uber.server.messages.ratelimit.PacketRateLimits limits = environment.getHandlerRegistry().getRateLimits();
+                logger.info("Rate limiting is {} (disconnect after {} violations):", limits.isEnabled() ? "on" : "off",
+                    limits.getDisconnectThreshold() > 0 ? limits.getDisconnectThreshold() : "unlimited");
+                for (com.uber.server.messages.ratelimit.RateLimitClass limitClass : com.uber.server.messages.ratelimit.RateLimitClass.values()) {
+                    logger.info("  {}: {}/s burst {} - {} dropped, {} coalesced", limitClass.getConfigName(),
+                        limits.getRate(limitClass), limits.getBurstSize(limitClass),
+                        limits.getDropped(limitClass), limits.getCoalesced(limitClass));
+                }
+            }
+            case "ping_stats" -> {
+                com.uber.server.game.PingStatistics statistics = environment.getClientManager().getPingStatistics();
+                if (params.length >= 2 && params[1].equalsIgnoreCase("reset")) {
+                    statistics.reset();
+                    logger.info("Ping statistics reset.");
+                } else {
+                    long seconds = Math.max(1, (System.currentTimeMillis() - statistics.getResetTime()) / 1000);
+                    logger.info("Ping round trips over the last {}s: {} pongs, mean {}ms, p50 {}ms, p90 {}ms, p99 {}ms, max {}ms",
+                        seconds, statistics.getCount(), statistics.getMeanMillis(), statistics.getPercentileMillis(50),
+                        statistics.getPercentileMillis(90), statistics.getPercentileMillis(99), statistics.getMaxMillis());
+                }
+            }
+            case "room_ticks" -> {
+                java.util.Collection<com.uber.server.game.rooms.Room> rooms = environment.getGame().getRoomManager().getRooms().values();
+                if (params.length >= 2 && params[1].equalsIgnoreCase("reset")) {
+                    for (com.uber.server.game.rooms.Room room : rooms) {
+                        room.getTickProfile().reset();
+                    }
+                    logger.info("Room tick statistics reset.");
+                } else {
+                    int limit = 10;
+                    if (params.length >= 2) {
+                        try {
+                            limit = Integer.parseInt(params[1]);
+                        } catch (NumberFormatException e) {
+                            logger.warn("Usage: room_ticks [limit|reset]");
+                            return;
+                        }
+                    }
+                    
+                    com.uber.server.game.threading.RoomTickEngine engine = com.uber.server.game.threading.GameThreadPool.getInstance().getRoomTickEngine();
+                    for (int i = 0; i < engine.getShardCount(); i++) {
+                        logger.info("  Tick shard {}: {} rooms, {}us per cycle", i + 1, engine.getRoomCount(i), engine.getLoadNanos(i) / 1000);
+                    }
+                    
+                    java.util.List<com.uber.server.game.rooms.Room> slowest = new java.util.ArrayList<>(rooms);
+                    slowest.sort(java.util.Comparator.comparingLong(
+                        (com.uber.server.game.rooms.Room room) -> room.getTickProfile().getMeanNanos()).reversed());
+                    long hibernating = slowest.stream().filter(com.uber.server.game.rooms.Room::isHibernating).count();
+                    logger.info("Slowest rooms by mean tick time ({} loaded, {} hibernating, phase columns are mean us):",
+                        slowest.size(), hibernating);
+                    com.uber.server.game.rooms.RoomTickPhase[] phases = com.uber.server.game.rooms.RoomTickPhase.values();
+                    StringBuilder header = new StringBuilder(String.format("  %8s %-24s %5s %8s %9s %9s %9s %6s %6s",
+                        "room", "name", "users", "ticks", "mean us", "p99 us", "max us", "overrn", "skip"));
+                    for (com.uber.server.game.rooms.RoomTickPhase phase : phases) {
+                        header.append(String.format(" %9s", phase.getLabel()));
+                    }
+                    logger.info(header.toString());
+                    for (int i = 0; i < slowest.size() && i < limit; i++) {
+                        com.uber.server.game.rooms.Room room = slowest.get(i);
+                        com.uber.server.game.rooms.RoomTickProfile profile = room.getTickProfile();
+                        String name = room.getData() != null ? room.getData().getName() : "-";
+                        StringBuilder row = new StringBuilder(String.format("  %8d %-24.24s %5d %8d %9d %9d %9d %6d %6d",
+                            room.getRoomId(), name, room.getUserCount(), profile.getTickCount(), profile.getMeanNanos() / 1000,
+                            profile.getPercentileMicros(99), profile.getMaxNanos() / 1000, profile.getOverruns(), profile.getSkippedTicks()));
+                        for (com.uber.server.game.rooms.RoomTickPhase phase : phases) {
+                            row.append(String.format(" %9d", profile.getMeanNanos(phase) / 1000));
+                        }
+                        logger.info(row.toString());
+                    }
+                }
+            }
+            case "trace" -> {
+                com.uber.server.messages.trace.PacketTracer tracer = com.uber.server.messages.trace.PacketTracer.getInstance();
+                String action = params.length >= 2 ? params[1].toLowerCase() : "status";
+                try {
+                    switch (action) {
+                        case "all" -> tracer.traceAll();
+                        case "user" -> tracer.traceUser(Long.parseLong(params[2]));
+                        case "room" -> tracer.traceRoom(Long.parseLong(params[2]));
+                        case "message" -> tracer.traceMessage(Integer.parseInt(params[2]));
+                        case "off" -> tracer.disable();
+                        case "clear" -> {
+                            tracer.clear();
+                            logger.info("Packet trace buffer cleared.");
+                        }
+                        case "dump" -> {
+                            java.nio.file.Path file = java.nio.file.Paths.get(params.length >= 3
+                                ? params[2] : "packet-trace-" + System.currentTimeMillis() + ".log");
+                            int written = tracer.dump(file);
+                            logger.info("Dumped {} traced packets to {}", written, file.toAbsolutePath());
+                        }
+                        case "status" -> { }
+                        default -> logger.warn("Usage: trace [status|all|user <id>|room <id>|message <id>|off|clear|dump [file]]");
+                    }
+                    logger.info("Packet tracing: {}", tracer.describe());
+                } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                    logger.warn("Usage: trace [status|all|user <id>|room <id>|message <id>|off|clear|dump [file]]");
+                } catch (java.io.IOException e) {
+                    logger.error("Failed to dump packet trace: {}", e.getMessage());
+                }
+            }
             case "cls" -> {
                 // Clear console (not really possible in Java, but log a message)
                 logger.info("--- Console cleared ---");
             }
             case "help" -> {
-                logger.info("Available commands are: cls, close, help, reload_catalog, reload_navigator, reload_roles, reload_help, reload_items, plugins, unload_all_plugins, unload_plugin [name]");
+                logger.info("Available commands are: cls, close, help, reload_catalog, reload_navigator, reload_roles, reload_help, reload_items, plugins, unload_all_plugins, unload_plugin [name], packet_stats [time|count|reset] [limit], trace [status|all|user|room|message|off|clear|dump], ratelimits, ping_stats [reset], room_ticks [limit|reset]");
             }
             case "close", "quit", "exit" -> {
                 logger.info("Shutting down server...");
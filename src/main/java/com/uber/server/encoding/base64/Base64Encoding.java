@@ -1,8 +1,12 @@
 package com.uber.server.encoding.base64;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Base64-like encoding utilities for Habbo protocol.
  * Encodes integers into Base64-like byte sequences.
+ * Each byte carries 6 bits (offset by 0x40), most significant first, so decoding is a
+ * shift-and-add per byte and can run in place on arrays and buffers.
  */
 public final class Base64Encoding {
     public static final byte NEGATIVE = 64;
@@ -20,13 +24,35 @@ public final class Base64Encoding {
      */
     public static byte[] encodeInt32(int i, int numBytes) {
         byte[] result = new byte[numBytes];
-        for (int j = 1; j <= numBytes; j++) {
-            int k = (numBytes - j) * 6;
-            result[j - 1] = (byte) (0x40 + ((i >> k) & 0x3f));
-        }
+        encodeInt32(i, numBytes, result, 0);
         return result;
     }
     
+    /**
+     * Encodes an integer in place.
+     * @param i The integer to encode
+     * @param numBytes Number of bytes to use for encoding
+     * @param dest Destination array
+     * @param offset Index of the first byte to write
+     */
+    public static void encodeInt32(int i, int numBytes, byte[] dest, int offset) {
+        for (int j = numBytes - 1, k = 0; j >= 0; j--, k += 6) {
+            dest[offset + j] = (byte) (0x40 + ((i >> k) & 0x3f));
+        }
+    }
+    
+    /**
+     * Encodes an integer straight into a Netty buffer.
+     * @param i The integer to encode
+     * @param numBytes Number of bytes to use for encoding
+     * @param out Destination buffer
+     */
+    public static void encodeInt32(int i, int numBytes, ByteBuf out) {
+        for (int k = (numBytes - 1) * 6; k >= 0; k -= 6) {
+            out.writeByte(0x40 + ((i >> k) & 0x3f));
+        }
+    }
+    
     /**
      * Encodes an unsigned integer into a Base64-like byte array.
      * @param i The unsigned integer to encode
@@ -43,15 +69,35 @@ public final class Base64Encoding {
      * @return Decoded integer
      */
     public static int decodeInt32(byte[] data) {
+        return decodeInt32(data, 0, data.length);
+    }
+    
+    /**
+     * Decodes a Base64-like integer in place from a byte array.
+     * @param data Source array
+     * @param offset Index of the first encoded byte
+     * @param numBytes Number of encoded bytes
+     * @return Decoded integer
+     */
+    public static int decodeInt32(byte[] data, int offset, int numBytes) {
+        int result = 0;
+        for (int k = offset, end = offset + numBytes; k < end; k++) {
+            result = (result << 6) + ((data[k] & 0xFF) - 0x40);
+        }
+        return result;
+    }
+    
+    /**
+     * Decodes a Base64-like integer in place from a Netty buffer without moving its indexes.
+     * @param buf Source buffer
+     * @param index Index of the first encoded byte
+     * @param numBytes Number of encoded bytes
+     * @return Decoded integer
+     */
+    public static int decodeInt32(ByteBuf buf, int index, int numBytes) {
         int result = 0;
-        int j = 0;
-        for (int k = data.length - 1; k >= 0; k--) {
-            int x = (data[k] & 0xFF) - 0x40;
-            if (j > 0) {
-                x *= (int) Math.pow(64.0, j);
-            }
-            result += x;
-            j++;
+        for (int k = index, end = index + numBytes; k < end; k++) {
+            result = (result << 6) + ((buf.getByte(k) & 0xFF) - 0x40);
         }
         return result;
     }
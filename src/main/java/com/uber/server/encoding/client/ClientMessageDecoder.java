@@ -5,6 +5,7 @@ import com.uber.server.encoding.wire.WireEncoding;
 import com.uber.server.messages.ClientMessage;
 
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Decoder for client messages.
@@ -25,11 +26,7 @@ public class ClientMessageDecoder {
      * @return The value bytes
      */
     public byte[] readFixedValue() {
-        byte[] lengthBytes = message.readBytes(2);
-        if (lengthBytes.length < 2) {
-            return new byte[0];
-        }
-        int len = Base64Encoding.decodeInt32(lengthBytes);
+        int len = popInt32();
         return message.readBytes(len);
     }
     
@@ -37,24 +34,23 @@ public class ClientMessageDecoder {
      * Pops a Base64-encoded boolean.
      */
     public boolean popBase64Boolean() {
-        // Access body directly through reflection or use a package-private method
-        // For now, use readBytes which advances pointer
-        byte[] data = message.readBytes(1);
-        if (data.length > 0 && data[0] == Base64Encoding.POSITIVE) {
-            return true;
-        }
-        return false;
+        return message.getRemainingLength() > 0 && message.popByte() == Base64Encoding.POSITIVE;
     }
     
     /**
      * Pops a Base64-encoded int32.
+     * Decoded in place from the message body.
      */
     public int popInt32() {
-        byte[] bytes = message.readBytes(2);
-        if (bytes.length < 2) {
+        if (message.getRemainingLength() < 2) {
+            message.advancePointer(message.getRemainingLength());
             return 0;
         }
-        return Base64Encoding.decodeInt32(bytes);
+        
+        int value = Base64Encoding.decodeInt32(message.getBuffer(), message.getReaderIndex(), 2);
+        message.advancePointer(2);
+        
+        return value;
     }
     
     /**
@@ -73,10 +69,16 @@ public class ClientMessageDecoder {
     
     /**
      * Pops a fixed-length string with specified encoding.
+     * The string is decoded straight from the message body.
      */
     public String popFixedString(Charset encoding) {
-        byte[] value = readFixedValue();
-        String result = new String(value, encoding);
+        if (message.getRemainingLength() < 2) {
+            message.advancePointer(message.getRemainingLength());
+            return "";
+        }
+        
+        int len = popInt32();
+        String result = message.readString(len, encoding);
         return result.replace('\u0001', ' '); // Replace char 1 with space
     }
     
@@ -84,7 +86,7 @@ public class ClientMessageDecoder {
      * Pops a fixed-length int32 (as ASCII string).
      */
     public int popFixedInt32() {
-        String s = popFixedString(Charset.forName("ASCII"));
+        String s = popFixedString(StandardCharsets.US_ASCII);
         try {
             return Integer.parseInt(s);
         } catch (NumberFormatException e) {
@@ -103,28 +105,24 @@ public class ClientMessageDecoder {
      * Pops a wire-encoded boolean.
      */
     public boolean popWiredBoolean() {
-        byte[] data = message.readBytes(1);
-        if (data.length > 0 && data[0] == WireEncoding.POSITIVE) {
-            return true;
-        }
-        return false;
+        return message.getRemainingLength() > 0 && message.popByte() == WireEncoding.POSITIVE;
     }
     
     /**
      * Pops a wire-encoded int32.
+     * Decoded in place from the message body without a scratch array.
      */
     public int popWiredInt32() {
-        if (message.getRemainingLength() < 1) {
+        int remaining = message.getRemainingLength();
+        if (remaining < 1) {
             return 0;
         }
         
-        byte[] data = message.plainReadBytes(WireEncoding.MAX_INTEGER_BYTE_AMOUNT);
-        int[] totalBytesOut = new int[1];
-        int result = WireEncoding.decodeInt32(data, totalBytesOut);
-        
-        message.advancePointer(totalBytesOut[0]);
+        int available = Math.min(remaining, WireEncoding.MAX_INTEGER_BYTE_AMOUNT);
+        int value = WireEncoding.decodeInt32(message.getBuffer(), message.getReaderIndex(), available);
+        message.advancePointer(WireEncoding.getDecodedLength(message.peekByte(0)));
         
-        return result;
+        return value;
     }
     
     /**
@@ -1,7 +1,6 @@
 package com.uber.server.encoding.server;
 
 import com.uber.server.encoding.base64.Base64Encoding;
-import com.uber.server.encoding.wire.WireEncoding;
 import com.uber.server.messages.ServerMessage;
 
 import java.nio.charset.Charset;
@@ -25,17 +24,13 @@ public class ServerMessageEncoder {
      * @return Byte array ready to send over TCP
      */
     public byte[] encode() {
-        byte[] header = Base64Encoding.encodeUInt32(message.getId(), 2);
-        byte[] data = new byte[message.getLength() + 3];
+        byte[] data = new byte[message.getFrameLength()];
+        byte[] header = getHeaderBytes();
         
         data[0] = header[0];
         data[1] = header[1];
-        
-        for (int i = 0; i < message.getLength(); i++) {
-            data[i + 2] = message.getBodyByte(i);
-        }
-        
-        data[data.length - 1] = 1; // Terminator
+        message.copyBody(data, ServerMessage.HEADER_LENGTH);
+        data[data.length - 1] = ServerMessage.TERMINATOR;
         
         return data;
     }
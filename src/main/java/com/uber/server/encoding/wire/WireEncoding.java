@@ -1,8 +1,12 @@
 package com.uber.server.encoding.wire;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Wire encoding utilities for Habbo protocol variable-length integers.
  * Uses a custom encoding scheme for efficient integer representation.
+ * Encoding and decoding work in place on arrays and buffers at an offset, so the
+ * message hot paths don't allocate per integer.
  */
 public final class WireEncoding {
     public static final byte NEGATIVE = 72;
@@ -13,34 +17,63 @@ public final class WireEncoding {
         // Utility class
     }
     
+    /**
+     * Gets the number of bytes needed to wire-encode an integer.
+     * @param i The integer to encode
+     * @return Encoded length (1-6 bytes)
+     */
+    public static int getEncodedLength(int i) {
+        int numBytes = 1;
+        for (int absValue = Math.abs(i) >>> 2; absValue != 0; absValue >>>= 6) {
+            numBytes++;
+        }
+        return numBytes;
+    }
+    
+    /**
+     * Gets the total length of a wire-encoded integer from its first byte.
+     * @param first First byte of the encoded integer
+     * @return Encoded length in bytes
+     */
+    public static int getDecodedLength(byte first) {
+        return (first >> 3) & 7;
+    }
+    
     /**
      * Encodes an integer into a variable-length wire format.
      * @param i The integer to encode
      * @return Encoded byte array (variable length, 1-6 bytes)
      */
     public static byte[] encodeInt32(int i) {
-        byte[] workBuffer = new byte[MAX_INTEGER_BYTE_AMOUNT];
-        
-        int pos = 0;
-        int numBytes = 1;
-        int startPos = pos;
+        byte[] result = new byte[getEncodedLength(i)];
+        encodeInt32(i, result, 0);
+        return result;
+    }
+    
+    /**
+     * Encodes an integer in place.
+     * @param i The integer to encode
+     * @param dest Destination array, with at least {@link #MAX_INTEGER_BYTE_AMOUNT} bytes free at offset
+     * @param offset Index of the first byte to write
+     * @return Number of bytes written
+     */
+    public static int encodeInt32(int i, byte[] dest, int offset) {
+        int pos = offset;
         int negativeMask = i >= 0 ? 0 : 4;
         
+        // Unsigned shifts so Integer.MIN_VALUE (whose abs is negative) still terminates
         int absValue = Math.abs(i);
         
-        workBuffer[pos++] = (byte) (64 + (absValue & 3));
+        dest[pos++] = (byte) (64 + (absValue & 3));
         
-        for (absValue >>= 2; absValue != 0; absValue >>= 6) {
-            numBytes++;
-            workBuffer[pos++] = (byte) (64 + (absValue & 0x3f));
+        for (absValue >>>= 2; absValue != 0; absValue >>>= 6) {
+            dest[pos++] = (byte) (64 + (absValue & 0x3f));
         }
         
-        workBuffer[startPos] = (byte) (workBuffer[startPos] | (numBytes << 3) | negativeMask);
-        
-        byte[] result = new byte[numBytes];
-        System.arraycopy(workBuffer, 0, result, 0, numBytes);
+        int numBytes = pos - offset;
+        dest[offset] = (byte) (dest[offset] | (numBytes << 3) | negativeMask);
         
-        return result;
+        return numBytes;
     }
     
     /**
@@ -55,32 +88,56 @@ public final class WireEncoding {
             return 0;
         }
         
-        int pos = 0;
-        int value = 0;
-        
-        boolean negative = (data[pos] & 4) == 4;
-        int totalBytes = (data[pos] >> 3) & 7;
-        value = data[pos] & 3;
-        
-        pos++;
+        totalBytesOut[0] = getDecodedLength(data[0]);
+        return decodeInt32(data, 0, data.length);
+    }
+    
+    /**
+     * Decodes a wire-encoded integer in place from a byte array.
+     * Use {@link #getDecodedLength(byte)} on the first byte for the number of bytes consumed.
+     * @param data Source array
+     * @param offset Index of the first encoded byte
+     * @param available Number of readable bytes from offset
+     * @return Decoded integer
+     */
+    public static int decodeInt32(byte[] data, int offset, int available) {
+        if (available <= 0) {
+            return 0;
+        }
         
-        int shiftAmount = 2;
+        byte first = data[offset];
+        int totalBytes = Math.min(getDecodedLength(first), available);
+        int value = first & 3;
         
         for (int b = 1; b < totalBytes; b++) {
-            if (pos >= data.length) {
-                break;
-            }
-            value |= ((data[pos] & 0x3f) << shiftAmount);
-            shiftAmount = 2 + 6 * b;
-            pos++;
+            value |= (data[offset + b] & 0x3f) << (6 * b - 4);
+        }
+        
+        return (first & 4) == 4 ? -value : value;
+    }
+    
+    /**
+     * Decodes a wire-encoded integer in place from a Netty buffer without moving its indexes.
+     * Use {@link #getDecodedLength(byte)} on the first byte for the number of bytes consumed.
+     * @param buf Source buffer
+     * @param index Index of the first encoded byte
+     * @param available Number of readable bytes from index
+     * @return Decoded integer
+     */
+    public static int decodeInt32(ByteBuf buf, int index, int available) {
+        if (available <= 0) {
+            return 0;
         }
         
-        if (negative) {
-            value = -value;
+        byte first = buf.getByte(index);
+        int totalBytes = Math.min(getDecodedLength(first), available);
+        int value = first & 3;
+        
+        for (int b = 1; b < totalBytes; b++) {
+            value |= (buf.getByte(index + b) & 0x3f) << (6 * b - 4);
         }
         
-        totalBytesOut[0] = totalBytes;
-        return value;
+        return (first & 4) == 4 ? -value : value;
     }
     
     /**
@@ -89,9 +146,11 @@ public final class WireEncoding {
      * @return Result object containing decoded integer and bytes consumed
      */
     public static DecodeResult decodeInt32(byte[] data) {
-        int[] totalBytes = new int[1];
-        int value = decodeInt32(data, totalBytes);
-        return new DecodeResult(value, totalBytes[0]);
+        if (data == null || data.length == 0) {
+            return new DecodeResult(0, 0);
+        }
+        int value = decodeInt32(data, 0, data.length);
+        return new DecodeResult(value, getDecodedLength(data[0]));
     }
     
     /**
@@ -59,6 +59,10 @@ public class Game {
     private final com.uber.server.repository.ItemRepository itemRepository;
     private final RoleRepository roleRepository;
     private final BotRepository botRepository;
+    private final AsyncRepository<RoomItemRepository> roomItemRepositoryAsync;
+    private final AsyncRepository<InventoryRepository> inventoryRepositoryAsync;
+    private final AsyncRepository<ChatLogRepository> chatLogRepositoryAsync;
+    private final com.uber.server.storage.DatabaseExecutor databaseExecutor;
     
     private Thread statisticsThread;
     
@@ -95,6 +99,10 @@ public class Game {
         this.itemRepository = environment.getItemRepository();
         this.roleRepository = environment.getRoleRepository();
         this.botRepository = environment.getBotRepository();
+        this.roomItemRepositoryAsync = environment.getRoomItemRepositoryAsync();
+        this.inventoryRepositoryAsync = environment.getInventoryRepositoryAsync();
+        this.chatLogRepositoryAsync = environment.getChatLogRepositoryAsync();
+        this.databaseExecutor = environment.getDatabasePool().getExecutor();
         
         // Get additional repositories needed by managers
         // (repositories are already set above)
@@ -322,6 +330,18 @@ public class Game {
     public ModerationBanRepository getModerationBanRepository() { return moderationBanRepository; }
     public UserInfoRepository getUserInfoRepository() { return userInfoRepository; }
     public ChatLogRepository getChatLogRepository() { return chatLogRepository; }
+    public AsyncRepository<RoomItemRepository> getRoomItemRepositoryAsync() { return roomItemRepositoryAsync; }
+    public AsyncRepository<InventoryRepository> getInventoryRepositoryAsync() { return inventoryRepositoryAsync; }
+    public AsyncRepository<ChatLogRepository> getChatLogRepositoryAsync() { return chatLogRepositoryAsync; }
+    
+    /**
+     * Wraps any repository for asynchronous use on the shared database executor.
+     * @param repository Repository to wrap
+     * @return Async view of the repository
+     */
+    public <R> AsyncRepository<R> async(R repository) {
+        return new AsyncRepository<>(repository, databaseExecutor);
+    }
     public PetRepository getPetRepository() { return petRepository; }
     public AchievementRepository getAchievementRepository() { return achievementRepository; }
     public VoucherRepository getVoucherRepository() { return voucherRepository; }
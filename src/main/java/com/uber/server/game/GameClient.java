@@ -1,14 +1,18 @@
 package com.uber.server.game;
 
+import com.uber.server.game.threading.ClientMessageQueue;
+import com.uber.server.game.threading.GameThreadPool;
 import com.uber.server.messages.ClientMessage;
 import com.uber.server.messages.PacketHandler;
 import com.uber.server.messages.PacketHandlerRegistry;
 import com.uber.server.messages.ServerMessage;
+import com.uber.server.messages.ratelimit.ClientRateLimiter;
+import com.uber.server.messages.trace.PacketTracer;
 import com.uber.server.net.TcpConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a game client connection.
@@ -22,7 +26,10 @@ public class GameClient {
     private final long clientId;
     private final TcpConnection connection;
     private final PacketHandlerRegistry handlerRegistry;
-    private final AtomicBoolean pongOK;
+    private final AtomicLong pingSentAt; // Nanotime of the unanswered ping, 0 if none
+    private volatile long lastPingRtt = -1; // Nanoseconds, -1 until the first pong
+    private final ClientMessageQueue messageQueue;
+    private final ClientRateLimiter rateLimiter;
     
     // Habbo (user) object
     private Habbo habbo;
@@ -31,7 +38,10 @@ public class GameClient {
         this.clientId = clientId;
         this.connection = connection;
         this.handlerRegistry = handlerRegistry;
-        this.pongOK = new AtomicBoolean(true);
+        this.pingSentAt = new AtomicLong(0);
+        this.messageQueue = new ClientMessageQueue(clientId,
+            GameThreadPool.getInstance().getClientExecutor(), this::handleMessage);
+        this.rateLimiter = new ClientRateLimiter(handlerRegistry.getRateLimits(), messageQueue::enqueue);
     }
     
     public long getClientId() {
@@ -46,12 +56,51 @@ public class GameClient {
         return habbo != null;
     }
     
+    /**
+     * Checks if the client has answered the last ping sent to it.
+     */
     public boolean isPongOK() {
-        return pongOK.get();
+        return pingSentAt.get() == 0;
     }
     
-    public void setPongOK(boolean value) {
-        pongOK.set(value);
+    /**
+     * Sends a ping unless the previous one is still unanswered.
+     * @param pingMessage Ping message
+     * @return False if the previous ping was never answered
+     */
+    public boolean sendPing(ServerMessage pingMessage) {
+        long now = System.nanoTime();
+        if (!pingSentAt.compareAndSet(0, now == 0 ? 1 : now)) {
+            return false;
+        }
+        
+        if (connection != null && connection.isAlive()) {
+            connection.sendMessage(pingMessage);
+        }
+        return true;
+    }
+    
+    /**
+     * Marks the outstanding ping as answered.
+     * @return Round trip time in nanoseconds, or -1 if no ping was outstanding
+     */
+    public long handlePong() {
+        long sentAt = pingSentAt.getAndSet(0);
+        if (sentAt == 0) {
+            return -1;
+        }
+        
+        long rtt = System.nanoTime() - sentAt;
+        lastPingRtt = rtt;
+        return rtt;
+    }
+    
+    /**
+     * Gets the round trip time of the last answered ping.
+     * @return Nanoseconds, or -1 if no ping has been answered yet
+     */
+    public long getLastPingRtt() {
+        return lastPingRtt;
     }
     
     /**
@@ -63,7 +112,7 @@ public class GameClient {
             return;
         }
         
-        pongOK.set(true);
+        pingSentAt.set(0);
         
         // With Netty, data reception is handled automatically by the pipeline
         // This method is kept for compatibility but doesn't need to start anything
@@ -141,17 +190,37 @@ public class GameClient {
         }
     }
     
+    /**
+     * Queues a decoded message for handling off the Netty I/O thread.
+     * Messages from one client are handled one at a time, in the order they arrived.
+     * Rate limited messages over their budget are dropped or coalesced before queueing.
+     * Takes ownership of the message; it is released once handled.
+     * @param message Decoded message
+     * @return False if the client should be disconnected (queue closed or full, or rate limits abused)
+     */
+    public boolean queueMessage(ClientMessage message) {
+        if (!rateLimiter.admit(message)) {
+            return !rateLimiter.isAbusive();
+        }
+        return messageQueue.enqueue(message);
+    }
+    
     /**
      * Handles a parsed client message.
      * Thread-safe handler lookup and invocation.
-     * Called by Netty channel handler or internal packet parser.
+     * Called from the client's message queue or internal packet parser.
      */
     public void handleMessage(ClientMessage message) {
         int messageId = (int) message.getId();
         
-        logger.info("[{}] --> {}", messageId, message.getBody());
+        PacketTracer tracer = PacketTracer.getInstance();
+        if (tracer.isEnabled()) {
+            Habbo current = habbo;
+            tracer.traceIncoming(clientId, current != null ? current.getId() : 0,
+                current != null ? current.getCurrentRoomId() : 0, message);
+        }
         
-        if (messageId < 0 || messageId > 4004) { // HIGHEST_MESSAGE_ID
+        if (messageId < 0 || messageId > PacketHandlerRegistry.HIGHEST_MESSAGE_ID) {
             logger.warn("Warning - out of protocol request: {}", message.getHeader());
             return;
         }
@@ -162,10 +231,13 @@ public class GameClient {
             return;
         }
         
+        long start = System.nanoTime();
         try {
             handler.handle(this, message);
         } catch (Exception e) {
             logger.error("Error handling message {} from client {}: {}", messageId, clientId, e.getMessage(), e);
+        } finally {
+            handlerRegistry.getStatistics().record(messageId, System.nanoTime() - start);
         }
     }
     
@@ -175,6 +247,12 @@ public class GameClient {
      */
     public void sendMessage(ServerMessage message) {
         if (connection != null && connection.isAlive()) {
+            PacketTracer tracer = PacketTracer.getInstance();
+            if (tracer.isEnabled() && message != null) {
+                Habbo current = habbo;
+                tracer.traceOutgoing(clientId, current != null ? current.getId() : 0,
+                    current != null ? current.getCurrentRoomId() : 0, message);
+            }
             connection.sendMessage(message);
         }
     }
@@ -183,6 +261,8 @@ public class GameClient {
      * Stops the client connection.
      */
     public synchronized void stop() {
+        rateLimiter.close();
+        messageQueue.close();
         if (connection != null) {
             connection.stop();
         }
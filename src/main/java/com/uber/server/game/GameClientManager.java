@@ -1,6 +1,5 @@
 package com.uber.server.game;
 
-import com.uber.server.game.threading.GameThreadPool;
 import com.uber.server.messages.PacketHandlerRegistry;
 import com.uber.server.messages.ServerMessage;
 import com.uber.server.net.TcpConnection;
@@ -12,8 +11,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -27,12 +24,16 @@ public class GameClientManager {
     private final PacketHandlerRegistry handlerRegistry;
     private final TcpConnectionManager connectionManager;
     private final AtomicBoolean isRunning;
+    private final PingStatistics pingStatistics;
+    private volatile int pingInterval; // Milliseconds, 0 while idle detection is off
+    private volatile ServerMessage pingMessage;
     
     public GameClientManager(PacketHandlerRegistry handlerRegistry, TcpConnectionManager connectionManager) {
         this.clients = new ConcurrentHashMap<>();
         this.handlerRegistry = handlerRegistry;
         this.connectionManager = connectionManager;
         this.isRunning = new AtomicBoolean(false);
+        this.pingStatistics = new PingStatistics();
     }
     
     /**
@@ -171,85 +172,91 @@ public class GameClientManager {
     }
     
     /**
-     * Starts the connection checker thread.
-     * Checks for timed-out connections and sends ping messages.
-     * Uses shared thread pool from GameThreadPool.
+     * Enables ping-based idle detection.
+     * Each connection gets its own reader idle timer in the pipeline (see PipelineInitializer);
+     * a client that sends nothing for a full interval is pinged, and one that is still silent
+     * an interval later is disconnected. Work is done per idle connection when its timer fires,
+     * so there is no periodic sweep over all clients.
+     * Connections accepted before this is called are not monitored.
+     * @param pingInterval Idle time before a client is pinged, in milliseconds
      */
     public void startConnectionChecker(int pingInterval) {
-        if (isRunning.getAndSet(true)) {
-            logger.warn("Connection checker is already running");
-            return;
-        }
-        
         if (pingInterval <= 100) {
             throw new IllegalArgumentException("Invalid configuration value for ping interval! Must be above 100 milliseconds.");
         }
         
-        // Use shared thread pool instead of dedicated executor
-        ScheduledExecutorService executor = GameThreadPool.getInstance().getGameExecutor();
-        
-        var pingComposer = new com.uber.server.messages.outgoing.global.PingComposer();
-        ServerMessage pingMessage = pingComposer.compose();
-        
-        executor.scheduleWithFixedDelay(() -> {
-            try {
-                List<Long> timedOutClients = new ArrayList<>();
-                List<GameClient> toPing = new ArrayList<>();
-                
-                // Create a copy of keys to iterate safely
-                // This avoids ConcurrentModificationException when modifying during iteration
-                List<Long> clientIds = new ArrayList<>(clients.keySet());
-                
-                for (Long clientId : clientIds) {
-                    GameClient client = clients.get(clientId);
-                    if (client == null) {
-                        continue;
-                    }
-                    
-                    if (client.isPongOK()) {
-                        client.setPongOK(false);
-                        toPing.add(client);
-                    } else {
-                        timedOutClients.add(clientId);
-                    }
-                }
-                
-                // Remove timed-out clients
-                for (Long clientId : timedOutClients) {
-                    logger.debug("Client {} timed out, disconnecting", clientId);
-                    stopClient(clientId);
-                }
-                
-                // Send ping to active clients
-                for (GameClient client : toPing) {
-                    try {
-                        if (client.getConnection() != null && client.getConnection().isAlive()) {
-                            client.getConnection().sendMessage(pingMessage);
-                        }
-                    } catch (Exception e) {
-                        logger.debug("Failed to send ping to client {}: {}", client.getClientId(), e.getMessage());
-                    }
-                }
-            } catch (Exception e) {
-                logger.error("Error in connection checker: {}", e.getMessage(), e);
-            }
-        }, pingInterval, pingInterval, TimeUnit.MILLISECONDS);
+        if (isRunning.getAndSet(true)) {
+            logger.warn("Connection checker is already running");
+            return;
+        }
         
-        logger.info("Connection checker started with interval {}ms", pingInterval);
+        this.pingMessage = new com.uber.server.messages.outgoing.global.PingComposer().compose();
+        this.pingInterval = pingInterval;
+        logger.info("Connection checker started: clients idle for {}ms are pinged", pingInterval);
     }
     
     /**
      * Stops the connection checker.
-     * Note: We don't shut down the shared executor here, only mark as not running.
+     * Idle timers already in the pipeline keep firing but no longer ping or disconnect.
      */
     public void stopConnectionChecker() {
         if (!isRunning.getAndSet(false)) {
             return;
         }
         
+        pingInterval = 0;
         logger.info("Connection checker stopped");
     }
     
+    /**
+     * Gets the idle time before a client is pinged.
+     * @return Interval in milliseconds, or 0 if idle detection is off
+     */
+    public int getPingInterval() {
+        return pingInterval;
+    }
+    
+    /**
+     * Handles a connection that has sent nothing for a full ping interval.
+     * Called from the connection's I/O thread when its idle timer fires.
+     * @param clientId Connection/client ID
+     * @return False if the client did not answer the previous ping and should be disconnected
+     */
+    public boolean handleIdle(long clientId) {
+        if (!isRunning.get()) {
+            return true;
+        }
+        
+        GameClient client = clients.get(clientId);
+        if (client == null) {
+            return true;
+        }
+        
+        if (!client.sendPing(pingMessage)) {
+            logger.debug("Client {} timed out, disconnecting", clientId);
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Handles a pong from a client and records its round trip time.
+     * @param client Client that answered
+     */
+    public void handlePong(GameClient client) {
+        long rttNanos = client.handlePong();
+        if (rttNanos >= 0) {
+            pingStatistics.record(rttNanos);
+        }
+    }
+    
+    /**
+     * Gets the ping round trip time statistics.
+     */
+    public PingStatistics getPingStatistics() {
+        return pingStatistics;
+    }
+    
     /**
      * Broadcasts a message to all clients.
      * Thread-safe iteration with copy of keys.
@@ -307,67 +314,6 @@ public class GameClientManager {
         return "";
     }
     
-    /**
-     * Checks and updates avatar effects for all clients.
-     */
-    public void checkEffects() {
-        // Create a copy of keys to iterate safely
-        List<Long> clientIds = new ArrayList<>(clients.keySet());
-        
-        for (Long clientId : clientIds) {
-            GameClient client = clients.get(clientId);
-            if (client == null || client.getHabbo() == null) {
-                continue;
-            }
-            
-            try {
-                Habbo habbo = client.getHabbo();
-                if (habbo.getAvatarEffectsInventoryComponent() != null) {
-                    habbo.getAvatarEffectsInventoryComponent().checkExpired();
-                }
-            } catch (Exception e) {
-                logger.debug("Error checking effects for client {}: {}", clientId, e.getMessage());
-            }
-        }
-    }
-    
-    /**
-     * Checks and updates pixel (activity points) for all clients.
-     */
-    public void checkPixelUpdates() {
-        Game game = null;
-        try {
-            game = com.uber.server.game.GameEnvironment.getInstance().getGame();
-        } catch (Exception e) {
-            logger.warn("Could not get Game instance for pixel updates: {}", e.getMessage());
-            return;
-        }
-        
-        if (game == null || game.getPixelManager() == null) {
-            return;
-        }
-        
-        com.uber.server.game.clients.PixelManager pixelManager = game.getPixelManager();
-        
-        // Create a copy of keys to iterate safely
-        List<Long> clientIds = new ArrayList<>(clients.keySet());
-        
-        for (Long clientId : clientIds) {
-            GameClient client = clients.get(clientId);
-            if (client == null || client.getHabbo() == null) {
-                continue;
-            }
-            
-            try {
-                if (pixelManager.needsUpdate(client)) {
-                    pixelManager.givePixels(client);
-                }
-            } catch (Exception e) {
-                logger.debug("Error updating pixels for client {}: {}", clientId, e.getMessage());
-            }
-        }
-    }
-
     public ConcurrentMap<Long, GameClient> getClients() {
         return clients;
     }
@@ -3,6 +3,7 @@ package com.uber.server.game;
 import com.uber.server.config.Configuration;
 import com.uber.server.config.ConfigLoader;
 import com.uber.server.messages.PacketHandlerRegistry;
+import com.uber.server.net.OutboundBackpressure;
 import com.uber.server.net.TcpConnectionManager;
 import com.uber.server.repository.*;
 import com.uber.server.storage.DatabasePool;
@@ -54,6 +55,9 @@ public class GameEnvironment {
     private ItemRepository itemRepository;
     private RoleRepository roleRepository;
     private BotRepository botRepository;
+    private AsyncRepository<RoomItemRepository> roomItemRepositoryAsync;
+    private AsyncRepository<InventoryRepository> inventoryRepositoryAsync;
+    private AsyncRepository<ChatLogRepository> chatLogRepositoryAsync;
     
     private GameEnvironment() {
         // Singleton pattern
@@ -106,6 +110,7 @@ public class GameEnvironment {
             
             // Initialize packet handler registry
             handlerRegistry = new PacketHandlerRegistry();
+            handlerRegistry.getRateLimits().configure(configuration);
             logger.info("Packet handler registry initialized");
             
             // Initialize TCP connection manager
@@ -113,6 +118,7 @@ public class GameEnvironment {
             int port = configuration.getInt("game.tcp.port");
             int conLimit = configuration.getInt("game.tcp.conlimit");
             
+            OutboundBackpressure.configure(configuration);
             connectionManager = new TcpConnectionManager(bindIP, port, conLimit);
             logger.info("TCP connection manager initialized");
             
@@ -121,15 +127,15 @@ public class GameEnvironment {
             connectionManager.setGameClientManager(clientManager); // Set reference for connection handling
             logger.info("Game client manager initialized");
             
-            // Start TCP listener
-            connectionManager.getListener().start();
-            
-            // Start connection checker if enabled
+            // Start connection checker if enabled (before the listener, so every connection gets an idle timer)
             if (configuration.getBoolean("client.ping.enabled")) {
                 int pingInterval = configuration.getInt("client.ping.interval");
                 clientManager.startConnectionChecker(pingInterval);
             }
             
+            // Start TCP listener
+            connectionManager.getListener().start();
+            
             // Initialize game instance
             game = Game.getInstance(this);
             game.initialize();
@@ -248,6 +254,11 @@ public class GameEnvironment {
         itemRepository = new com.uber.server.repository.ItemRepository(databasePool);
         roleRepository = new RoleRepository(databasePool);
         botRepository = new BotRepository(databasePool);
+        
+        // Async views for the repositories written from room ticks and chat handlers
+        roomItemRepositoryAsync = new AsyncRepository<>(roomItemRepository, databasePool.getExecutor());
+        inventoryRepositoryAsync = new AsyncRepository<>(inventoryRepository, databasePool.getExecutor());
+        chatLogRepositoryAsync = new AsyncRepository<>(chatLogRepository, databasePool.getExecutor());
     }
     
     // Repository getters
@@ -265,6 +276,9 @@ public class GameEnvironment {
     public ModerationBanRepository getModerationBanRepository() { return moderationBanRepository; }
     public UserInfoRepository getUserInfoRepository() { return userInfoRepository; }
     public ChatLogRepository getChatLogRepository() { return chatLogRepository; }
+    public AsyncRepository<RoomItemRepository> getRoomItemRepositoryAsync() { return roomItemRepositoryAsync; }
+    public AsyncRepository<InventoryRepository> getInventoryRepositoryAsync() { return inventoryRepositoryAsync; }
+    public AsyncRepository<ChatLogRepository> getChatLogRepositoryAsync() { return chatLogRepositoryAsync; }
     public PetRepository getPetRepository() { return petRepository; }
     public AchievementRepository getAchievementRepository() { return achievementRepository; }
     public VoucherRepository getVoucherRepository() { return voucherRepository; }
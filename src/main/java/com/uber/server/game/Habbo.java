@@ -433,6 +433,11 @@ public class Habbo {
             subscriptionManager = null;
         }
         
+        // Cancel effect expiry timeouts
+        if (avatarEffectsInventoryComponent != null) {
+            avatarEffectsInventoryComponent.dispose();
+        }
+        
         // TODO: Drop events, kick bots, etc.
     }
     
@@ -500,11 +505,7 @@ public class Habbo {
      */
     public void updateActivityPointsBalance(boolean sendUpdate, int notifAmount) {
         if (sendUpdate) {
-            GameClient client = getClient();
-            if (client != null) {
-                var composer = new com.uber.server.messages.outgoing.users.HabboActivityPointNotificationComposer(activityPoints, notifAmount);
-                client.sendMessage(composer.compose());
-            }
+            sendActivityPointsBalance(notifAmount);
         }
         
         // Update in database
@@ -515,6 +516,18 @@ public class Habbo {
         }
     }
     
+    /**
+     * Sends the activity points balance to the client without touching the database.
+     * @param notifAmount Notification amount
+     */
+    public void sendActivityPointsBalance(int notifAmount) {
+        GameClient client = getClient();
+        if (client != null) {
+            var composer = new com.uber.server.messages.outgoing.users.HabboActivityPointNotificationComposer(activityPoints, notifAmount);
+            client.sendMessage(composer.compose());
+        }
+    }
+    
     /**
      * Initializes messenger (creates if needed, loads data, and sends to client).
      */
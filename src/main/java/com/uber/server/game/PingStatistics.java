@@ -0,0 +1,111 @@
+package com.uber.server.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ping round trip times across all clients.
+ * Round trips go into power-of-two millisecond buckets (bucket 0 is under 1ms, bucket n covers
+ * [2^(n-1), 2^n) ms, the last bucket is open-ended), so percentiles are upper bounds.
+ */
+public class PingStatistics {
+    public static final int BUCKETS = 17; // Up to ~65s, last bucket catches the rest
+    
+    private final AtomicLong count;
+    private final AtomicLong totalNanos;
+    private final AtomicLong maxNanos;
+    private final AtomicLongArray histogram;
+    private volatile long resetTime;
+    
+    public PingStatistics() {
+        this.count = new AtomicLong();
+        this.totalNanos = new AtomicLong();
+        this.maxNanos = new AtomicLong();
+        this.histogram = new AtomicLongArray(BUCKETS);
+        this.resetTime = System.currentTimeMillis();
+    }
+    
+    /**
+     * Records one ping round trip.
+     * @param nanos Time between sending the ping and handling the pong
+     */
+    public void record(long nanos) {
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        histogram.incrementAndGet(bucketFor(nanos));
+        
+        long max;
+        while (nanos > (max = maxNanos.get())) {
+            if (maxNanos.compareAndSet(max, nanos)) {
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Clears all counters and the histogram.
+     */
+    public void reset() {
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+        resetTime = System.currentTimeMillis();
+    }
+    
+    /**
+     * Gets the time statistics were last reset.
+     * @return Epoch milliseconds
+     */
+    public long getResetTime() {
+        return resetTime;
+    }
+    
+    public long getCount() {
+        return count.get();
+    }
+    
+    public long getMeanMillis() {
+        long samples = count.get();
+        return samples == 0 ? 0 : totalNanos.get() / samples / 1_000_000;
+    }
+    
+    public long getMaxMillis() {
+        return maxNanos.get() / 1_000_000;
+    }
+    
+    /**
+     * Gets an upper bound for a round trip percentile from the histogram.
+     * @param percentile Percentile (0-100)
+     * @return Upper edge of the bucket holding the percentile, in milliseconds
+     */
+    public long getPercentileMillis(double percentile) {
+        long[] buckets = new long[BUCKETS];
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            buckets[b] = histogram.get(b);
+            total += buckets[b];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        
+        long target = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += buckets[b];
+            if (seen >= target) {
+                return b == 0 ? 1 : 1L << b;
+            }
+        }
+        return 1L << (BUCKETS - 1);
+    }
+    
+    private static int bucketFor(long nanos) {
+        long millis = nanos / 1_000_000;
+        int bucket = 64 - Long.numberOfLeadingZeros(millis);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+}
@@ -9,68 +9,92 @@ import com.uber.server.util.TimeUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Manages activity points (pixels) for users.
- * Uses shared thread pool from GameThreadPool.
+ * Every online user has one timeout on the GameTimer that fires when their next grant is due,
+ * so grants cost nothing between deadlines instead of a scan over all clients every 15 seconds.
+ * Grants update the user and client straight away; the database writes are collected and
+ * flushed as one JDBC batch per {@link #FLUSH_WINDOW_SECONDS} window.
  */
 public class PixelManager {
     private static final Logger logger = LoggerFactory.getLogger(PixelManager.class);
     
     private static final int RCV_EVERY_MINS = 15;
     private static final int RCV_AMOUNT = 50;
+    private static final int FLUSH_WINDOW_SECONDS = 5;
     
-    private ScheduledFuture<?> processTask;
+    private final ConcurrentHashMap<Long, Habbo> pendingWrites = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private volatile boolean running = false;
     
     public PixelManager() {
-        // No initialization needed - will use shared thread pool
+        // No initialization needed - grants are scheduled per user on the GameTimer
     }
     
     /**
-     * Starts the pixel manager worker.
-     * Uses shared thread pool from GameThreadPool.
+     * Starts the pixel manager. Users are scheduled individually as they log in.
      */
     public void start() {
-        if (processTask != null && !processTask.isCancelled()) {
-            return; // Already running
+        running = true;
+        logger.info("PixelManager started");
+    }
+    
+    /**
+     * Stops the pixel manager. Pending grant timeouts do nothing when they fire; grants not yet
+     * persisted are flushed before returning.
+     */
+    public void stop() {
+        running = false;
+        flush();
+        logger.info("PixelManager stopped");
+    }
+    
+    /**
+     * Schedules the next pixel grant for a user, based on their last grant.
+     * The timeout reschedules itself after each grant for as long as the user stays online.
+     * @param habbo Logged in user
+     */
+    public void schedule(Habbo habbo) {
+        if (!running || habbo == null) {
+            return;
         }
         
-        ScheduledExecutorService executor = GameThreadPool.getInstance().getGameExecutor();
-        
-        // Schedule pixel updates every 15 seconds
-        processTask = executor.scheduleWithFixedDelay(() -> {
+        long dueAt = habbo.getLastActivityPointsUpdate() + TimeUnit.MINUTES.toSeconds(RCV_EVERY_MINS);
+        GameThreadPool.getInstance().getGameTimer().scheduleAt(dueAt, () -> {
+            if (!running) {
+                return;
+            }
+            
+            GameClient client = getClient(habbo.getId());
+            if (client == null || client.getHabbo() != habbo) {
+                return; // Logged out (or logged in again with a new session and timer)
+            }
+            
             try {
-                Game game = null;
-                try {
-                    game = GameEnvironment.getInstance().getGame();
-                } catch (Exception e) {
-                    logger.error("Could not get Game instance: {}", e.getMessage(), e);
-                    return;
-                }
-                
-                if (game != null && game.getClientManager() != null) {
-                    game.getClientManager().checkPixelUpdates();
+                if (needsUpdate(client)) {
+                    givePixels(client);
                 }
             } catch (Exception e) {
-                logger.error("Error in PixelManager: {}", e.getMessage(), e);
+                logger.error("Error giving pixels to user {}: {}", habbo.getId(), e.getMessage(), e);
             }
-        }, 0, 15, TimeUnit.SECONDS);
-        
-        logger.info("PixelManager started");
+            schedule(habbo);
+        });
     }
     
-    /**
-     * Stops the pixel manager worker.
-     */
-    public void stop() {
-        if (processTask != null) {
-            processTask.cancel(false);
-            processTask = null;
+    private GameClient getClient(long userId) {
+        try {
+            Game game = GameEnvironment.getInstance().getGame();
+            return game != null && game.getClientManager() != null ? game.getClientManager().getClientByHabbo(userId) : null;
+        } catch (Exception e) {
+            logger.error("Could not get Game instance: {}", e.getMessage(), e);
+            return null;
         }
-        logger.info("PixelManager stopped");
     }
     
     /**
@@ -106,6 +130,53 @@ public class PixelManager {
         
         habbo.setLastActivityPointsUpdate(timestamp);
         habbo.setActivityPoints(habbo.getActivityPoints() + RCV_AMOUNT);
-        habbo.updateActivityPointsBalance(true, RCV_AMOUNT);
+        habbo.sendActivityPointsBalance(RCV_AMOUNT);
+        
+        pendingWrites.put(habbo.getId(), habbo);
+        if (flushScheduled.compareAndSet(false, true)) {
+            GameThreadPool.getInstance().getGameTimer().schedule(FLUSH_WINDOW_SECONDS, TimeUnit.SECONDS, this::flush);
+        }
+    }
+    
+    /**
+     * Persists all grants made since the last flush in one batch.
+     * Balances are read at flush time, so a user granted twice (or who spent pixels in between)
+     * is written once with their current balance.
+     */
+    private void flush() {
+        flushScheduled.set(false);
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+        
+        List<Habbo> habbos = new ArrayList<>(pendingWrites.size());
+        for (Long userId : pendingWrites.keySet()) {
+            Habbo habbo = pendingWrites.remove(userId);
+            if (habbo != null) {
+                habbos.add(habbo);
+            }
+        }
+        
+        long[] userIds = new long[habbos.size()];
+        int[] activityPoints = new int[habbos.size()];
+        long[] lastUpdates = new long[habbos.size()];
+        for (int i = 0; i < habbos.size(); i++) {
+            Habbo habbo = habbos.get(i);
+            userIds[i] = habbo.getId();
+            activityPoints[i] = habbo.getActivityPoints();
+            lastUpdates[i] = habbo.getLastActivityPointsUpdate();
+        }
+        
+        try {
+            Game game = GameEnvironment.getInstance().getGame();
+            if (game == null || game.getUserRepository() == null
+                    || !game.getUserRepository().updateActivityPoints(userIds, activityPoints, lastUpdates)) {
+                logger.error("Failed to persist pixel grants for {} users", userIds.length);
+            } else {
+                logger.debug("Persisted pixel grants for {} users", userIds.length);
+            }
+        } catch (Exception e) {
+            logger.error("Error persisting pixel grants: {}", e.getMessage(), e);
+        }
     }
 }
@@ -276,11 +276,20 @@ public class RoomItem {
         // Mark as needing update
         this.updateNeeded = true;
         this.updateCounter++;
+        wakeRoom();
         
-        // Update item in database if requested
-        if (inDatabase && game != null && game.getRoomItemRepository() != null) {
-            game.getRoomItemRepository().updatePosition(id, x, y, z, rot);
-            game.getRoomItemRepository().updateExtraData(id, extraData);
+        // Update item in database if requested (asynchronously, in order per item)
+        if (inDatabase && game != null && game.getRoomItemRepositoryAsync() != null) {
+            long itemId = id;
+            int savedX = x;
+            int savedY = y;
+            double savedZ = z;
+            int savedRot = rot;
+            String savedExtraData = extraData;
+            game.getRoomItemRepositoryAsync().runOrdered(itemId, repo -> {
+                repo.updatePosition(itemId, savedX, savedY, savedZ, savedRot);
+                repo.updateExtraData(itemId, savedExtraData);
+            });
         }
         
         // Send update message to room users
@@ -381,5 +390,16 @@ public class RoomItem {
     public void reqUpdate(int cycles) {
         this.updateCounter = cycles;
         this.updateNeeded = true;
+        wakeRoom();
+    }
+    
+    /**
+     * Brings the item's room back to full tick rate so the pending update is processed on time.
+     */
+    private void wakeRoom() {
+        com.uber.server.game.rooms.Room room = getRoom();
+        if (room != null) {
+            room.wakeProcessRoutine();
+        }
     }
 }
@@ -67,6 +67,10 @@ public class InteractorGate extends FurniInteractor {
         
         item.setExtraData(String.valueOf(newMode));
         item.updateState(false, true);
-        // Note: GenerateMaps() would be called here in full implementation
+        
+        // Open gates are walkable; update the tiles under this one
+        if (room.getRoomMapping() != null) {
+            room.getRoomMapping().onItemUpdated(item);
+        }
     }
 }
@@ -0,0 +1,100 @@
+package com.uber.server.game.pathfinding;
+
+import com.uber.server.game.rooms.mapping.RoomMapping;
+import com.uber.server.game.rooms.mapping.WalkSnapshot;
+
+/**
+ * Step distances from every tile to one goal tile, built by a reverse breadth-first search over
+ * the room's collision matrix.
+ * Only furniture is taken into account: users and the per-user height rule change too often to
+ * be baked in, so whoever follows the field still checks each step for the walking user.
+ */
+public class FlowField {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    
+    private static final int[] MOVE_X = { -1, 0, 1, 1, 1, 0, -1, -1 };
+    private static final int[] MOVE_Y = { -1, -1, -1, 0, 1, 1, 1, 0 };
+    
+    private final int goalX;
+    private final int goalY;
+    private final int mapSizeX;
+    private final int mapSizeY;
+    private final int[] distances;
+    
+    private FlowField(int goalX, int goalY, int mapSizeX, int mapSizeY, int[] distances) {
+        this.goalX = goalX;
+        this.goalY = goalY;
+        this.mapSizeX = mapSizeX;
+        this.mapSizeY = mapSizeY;
+        this.distances = distances;
+    }
+    
+    /**
+     * Builds the field for a goal. The goal is always a valid destination, like in
+     * {@link Pathfinder}; every other tile on the way must be walkable without being the last step.
+     * @param snapshot Walk snapshot the field is built from
+     * @param goalX Goal X
+     * @param goalY Goal Y
+     * @return Flow field
+     */
+    static FlowField build(WalkSnapshot snapshot, int goalX, int goalY) {
+        int mapSizeX = snapshot.getMapSizeX();
+        int mapSizeY = snapshot.getMapSizeY();
+        int[] distances = new int[mapSizeX * mapSizeY];
+        java.util.Arrays.fill(distances, UNREACHABLE);
+        
+        int[] queue = new int[distances.length];
+        int head = 0;
+        int tail = 0;
+        
+        int goal = goalX * mapSizeY + goalY;
+        distances[goal] = 0;
+        queue[tail++] = goal;
+        
+        while (head < tail) {
+            int current = queue[head++];
+            int x = current / mapSizeY;
+            int y = current % mapSizeY;
+            int next = distances[current] + 1;
+            
+            for (int m = 0; m < MOVE_X.length; m++) {
+                int newX = x + MOVE_X[m];
+                int newY = y + MOVE_Y[m];
+                if (newX < 0 || newY < 0 || newX >= mapSizeX || newY >= mapSizeY) {
+                    continue;
+                }
+                
+                int index = newX * mapSizeY + newY;
+                if (distances[index] != UNREACHABLE || snapshot.getWalkState(newX, newY) != RoomMapping.TILE_WALKABLE) {
+                    continue;
+                }
+                
+                distances[index] = next;
+                queue[tail++] = index;
+            }
+        }
+        
+        return new FlowField(goalX, goalY, mapSizeX, mapSizeY, distances);
+    }
+    
+    /**
+     * Gets the number of steps from a tile to the goal.
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @return Step count, or {@link #UNREACHABLE}
+     */
+    public int getDistance(int x, int y) {
+        if (x < 0 || y < 0 || x >= mapSizeX || y >= mapSizeY) {
+            return UNREACHABLE;
+        }
+        return distances[x * mapSizeY + y];
+    }
+    
+    public int getGoalX() {
+        return goalX;
+    }
+    
+    public int getGoalY() {
+        return goalY;
+    }
+}
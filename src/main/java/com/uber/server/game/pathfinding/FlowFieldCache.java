@@ -0,0 +1,95 @@
+package com.uber.server.game.pathfinding;
+
+import com.uber.server.game.rooms.mapping.WalkSnapshot;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-room cache of flow fields keyed by goal tile.
+ * A field is built once a goal has been asked for {@link #BUILD_AFTER_REQUESTS} times, so
+ * one-off destinations keep using A* while the door, popular seats and teleporters are
+ * shared by everyone walking there. The cache is dropped whenever the collision matrix changes.
+ */
+public class FlowFieldCache {
+    private static final int BUILD_AFTER_REQUESTS = 2;
+    private static final int MAX_FIELDS = 8;
+    private static final int MAX_TRACKED_GOALS = 256;
+    
+    private final Map<Integer, FlowField> fields = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, FlowField> eldest) {
+            return size() > MAX_FIELDS;
+        }
+    };
+    private final Map<Integer, Integer> requests = new HashMap<>();
+    private int version;
+    
+    /**
+     * Gets the flow field for a goal, building it from the snapshot if the goal is requested
+     * often enough.
+     * @param snapshot Walk snapshot the caller is searching
+     * @param goalX Goal X
+     * @param goalY Goal Y
+     * @return Flow field, or null if the goal is not (yet) worth a field
+     */
+    public FlowField get(WalkSnapshot snapshot, int goalX, int goalY) {
+        int mapSizeX = snapshot.getMapSizeX();
+        int mapSizeY = snapshot.getMapSizeY();
+        if (goalX < 0 || goalY < 0 || goalX >= mapSizeX || goalY >= mapSizeY) {
+            return null;
+        }
+        
+        int key = goalX * mapSizeY + goalY;
+        synchronized (this) {
+            FlowField field = fields.get(key);
+            if (field != null) {
+                return field;
+            }
+            
+            if (requests.size() >= MAX_TRACKED_GOALS) {
+                requests.clear();
+            }
+            if (requests.merge(key, 1, Integer::sum) < BUILD_AFTER_REQUESTS) {
+                return null;
+            }
+        }
+        
+        // Built outside the lock; a field from a snapshot older than the current matrix is used
+        // once (each step is still checked) but not cached
+        FlowField field = FlowField.build(snapshot, goalX, goalY);
+        synchronized (this) {
+            if (snapshot.getVersion() == version) {
+                fields.put(key, field);
+                requests.remove(key);
+            }
+        }
+        return field;
+    }
+    
+    /**
+     * Gets the current matrix version, bumped by every {@link #invalidate()}.
+     * @return Version
+     */
+    public synchronized int getVersion() {
+        return version;
+    }
+    
+    /**
+     * Drops all fields (the collision matrix changed).
+     */
+    public synchronized void invalidate() {
+        version++;
+        fields.clear();
+        requests.clear();
+    }
+    
+    /**
+     * Gets the number of cached fields.
+     * @return Field count
+     */
+    public synchronized int size() {
+        return fields.size();
+    }
+}
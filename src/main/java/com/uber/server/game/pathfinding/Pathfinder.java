@@ -1,264 +1,364 @@
 package com.uber.server.game.pathfinding;
 
-import com.uber.server.game.rooms.Room;
-import com.uber.server.game.rooms.RoomModel;
-import com.uber.server.game.rooms.RoomUser;
-import com.uber.server.game.rooms.mapping.RoomMapping;
+import com.uber.server.game.rooms.mapping.WalkSnapshot;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Pathfinding implementation using a distance-based algorithm.
- * Enhanced to be more Habbo-like with better diagonal movement and height consideration.
+ * A* pathfinding over the room grid.
+ * Every step (straight or diagonal) costs 1, with the Chebyshev distance to the goal as the
+ * heuristic, so paths are as short as the old flood fill produced. Search state lives in flat
+ * primitive arrays that are reused per thread and invalidated by a generation counter instead
+ * of being cleared, and whether a tile is open is evaluated at most once per search.
+ * Goals with a cached {@link FlowField} skip the search and follow the field instead.
+ * Works on a {@link WalkSnapshot}, so it can run on any thread.
  */
 public class Pathfinder {
-    private static class Point {
-        int x;
-        int y;
-        
-        Point(int x, int y) {
-            this.x = x;
-            this.y = y;
-        }
-    }
+    // Maximum height difference allowed for pathfinding (in tiles)
+    private static final double MAX_HEIGHT_DIFF = 1.5;
     
-    private static class CompleteSquare {
-        int x;
-        int y;
-        int distanceSteps = 100;
-        boolean isPath = false;
-        
-        CompleteSquare(int x, int y) {
-            this.x = x;
-            this.y = y;
-        }
-    }
+    // Tiles further than this many steps away are unreachable, as with the old flood fill
+    private static final int MAX_STEPS = 99;
     
-    private Point[] movements;
-    private CompleteSquare[][] squares;
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
     
-    private Room room;
-    private RoomModel model;
-    private RoomUser user;
-    private RoomMapping roomMapping;
+    private int[] moveX;
+    private int[] moveY;
     
-    private int mapSizeX;
-    private int mapSizeY;
+    private final WalkSnapshot snapshot;
+    private final FlowFieldCache flowFieldCache;
+    private final int startX;
+    private final int startY;
+    private final int goalX;
+    private final int goalY;
+    private final boolean allowOverride;
     
-    // Maximum height difference allowed for pathfinding (in tiles)
-    private static final double MAX_HEIGHT_DIFF = 1.5;
+    private final int mapSizeX;
+    private final int mapSizeY;
     
-    public Pathfinder(Room room, RoomUser user) {
-        this.room = room;
-        if (room != null) {
-            this.model = room.getModel();
-            this.roomMapping = room.getRoomMapping();
-        }
-        this.user = user;
-        
-        if (room == null || model == null || user == null) {
-            return;
-        }
+    /**
+     * @param snapshot Walk matrix to search
+     * @param flowFieldCache Room's flow field cache, or null to always search
+     * @param startX Tile the user walks from
+     * @param startY Tile the user walks from
+     * @param goalX Goal tile
+     * @param goalY Goal tile
+     * @param allowOverride If true, every tile on the map is open (the user's override flag)
+     */
+    public Pathfinder(WalkSnapshot snapshot, FlowFieldCache flowFieldCache, int startX, int startY,
+                      int goalX, int goalY, boolean allowOverride) {
+        this.snapshot = snapshot;
+        this.flowFieldCache = flowFieldCache;
+        this.startX = startX;
+        this.startY = startY;
+        this.goalX = goalX;
+        this.goalY = goalY;
+        this.allowOverride = allowOverride;
+        this.mapSizeX = snapshot.getMapSizeX();
+        this.mapSizeY = snapshot.getMapSizeY();
         
         // Use 8-directional movement for smoother, more Habbo-like paths
         initMovements(8);
-        
-        mapSizeX = model.getMapSizeX();
-        mapSizeY = model.getMapSizeY();
-        
-        squares = new CompleteSquare[mapSizeX][mapSizeY];
-        
-        for (int x = 0; x < mapSizeX; x++) {
-            for (int y = 0; y < mapSizeY; y++) {
-                squares[x][y] = new CompleteSquare(x, y);
-            }
-        }
-    }
-    
-    private List<Point> getSquares() {
-        List<Point> result = new ArrayList<>();
-        for (int x = 0; x < mapSizeX; x++) {
-            for (int y = 0; y < mapSizeY; y++) {
-                result.add(new Point(x, y));
-            }
-        }
-        return result;
-    }
-    
-    private List<Point> validMoves(int x, int y) {
-        List<Point> result = new ArrayList<>();
-        for (Point movePoint : movements) {
-            int newX = x + movePoint.x;
-            int newY = y + movePoint.y;
-            
-            if (validCoordinates(newX, newY) && isSquareOpen(newX, newY, true)) {
-                result.add(new Point(newX, newY));
-            }
-        }
-        return result;
     }
     
+    /**
+     * Finds a path from the start to the goal.
+     * @return Path ordered from the goal back to the start (inclusive), just the goal if it
+     *         cannot be reached, or null if there is no goal
+     */
     public List<Coord> findPath() {
-        if (room == null || model == null || user == null) {
+        if (goalX == -1 || goalY == -1) {
             return null;
         }
         
-        // Locate the user, and set the distance to zero
-        int userX = user.getX();
-        int userY = user.getY();
+        List<Coord> path = new ArrayList<>();
+        path.add(new Coord(goalX, goalY));
         
-        squares[user.getX()][user.getY()].distanceSteps = 0;
+        if (!inBounds(startX, startY) || !inBounds(goalX, goalY) || (startX == goalX && startY == goalY)) {
+            return path;
+        }
         
-        // Find all possible moves
-        while (true) {
-            boolean madeProgress = false;
-            
-            for (Point mainPoint : getSquares()) {
-                int x = mainPoint.x;
-                int y = mainPoint.y;
-                
-                if (isSquareOpen(x, y, true)) {
-                    int passHere = squares[x][y].distanceSteps;
-                    
-                    for (Point movePoint : validMoves(x, y)) {
-                        int newX = movePoint.x;
-                        int newY = movePoint.y;
-                        int newPass = passHere + 1;
-                        
-                        if (squares[newX][newY].distanceSteps > newPass) {
-                            squares[newX][newY].distanceSteps = newPass;
-                            madeProgress = true;
-                        }
-                    }
-                }
+        double startHeight = snapshot.getHeight(startX, startY);
+        
+        if (!allowOverride && flowFieldCache != null) {
+            FlowField field = flowFieldCache.get(snapshot, goalX, goalY);
+            if (field != null && followField(field, startHeight, path)) {
+                return path;
             }
+        }
+        
+        Scratch scratch = SCRATCH.get();
+        scratch.begin(mapSizeX * mapSizeY);
+        
+        int start = index(startX, startY);
+        int goal = index(goalX, goalY);
+        
+        scratch.touch(start);
+        scratch.g[start] = 0;
+        scratch.parent[start] = -1;
+        scratch.push(heuristic(startX, startY, goalX, goalY), 0, start);
+        
+        boolean found = false;
+        while (!scratch.isHeapEmpty()) {
+            int current = scratch.pop();
+            if ((scratch.state[current] & Scratch.CLOSED) != 0) {
+                continue; // Stale heap entry
+            }
+            scratch.state[current] |= Scratch.CLOSED;
             
-            if (!madeProgress) {
+            if (current == goal) {
+                found = true;
                 break;
             }
+            
+            int g = scratch.g[current] + 1;
+            if (g > MAX_STEPS) {
+                continue;
+            }
+            
+            int x = current / mapSizeY;
+            int y = current % mapSizeY;
+            for (int m = 0; m < moveX.length; m++) {
+                int newX = x + moveX[m];
+                int newY = y + moveY[m];
+                if (!inBounds(newX, newY)) {
+                    continue;
+                }
+                
+                int next = index(newX, newY);
+                scratch.touch(next);
+                if ((scratch.state[next] & Scratch.CLOSED) != 0 || g >= scratch.g[next]) {
+                    continue;
+                }
+                // The goal itself is always entered, so blocked goals still get a path up to them
+                if (next != goal && !isSquareOpen(scratch, next, newX, newY, startHeight)) {
+                    continue;
+                }
+                
+                scratch.g[next] = g;
+                scratch.parent[next] = current;
+                int h = heuristic(newX, newY, goalX, goalY);
+                scratch.push(g + h, h, next);
+            }
         }
         
-        // Locate the goal
-        int goalX = user.getGoalX();
-        int goalY = user.getGoalY();
-        
-        if (goalX == -1 || goalY == -1) {
-            return null;
+        if (!found) {
+            return path;
         }
         
-        // Now trace the shortest possible route to our goal
-        List<Coord> path = new ArrayList<>();
+        for (int node = scratch.parent[goal]; node != -1; node = scratch.parent[node]) {
+            path.add(new Coord(node / mapSizeY, node % mapSizeY));
+        }
         
-        path.add(new Coord(user.getGoalX(), user.getGoalY()));
+        return path;
+    }
+    
+    /**
+     * Walks down a flow field from the user's position, taking at every tile a neighbour one
+     * step closer to the goal that this user may enter.
+     * @param path Path holding just the goal; completed (goal to start) on success
+     * @return False if the field leads nowhere for this user (other users or heights in the
+     *         way), in which case the path is left untouched
+     */
+    private boolean followField(FlowField field, double startHeight, List<Coord> path) {
+        List<Coord> steps = new ArrayList<>();
+        int x = startX;
+        int y = startY;
+        int distance = field.getDistance(x, y); // Unreachable if the user stands on a seat, door, etc.
         
-        while (true) {
-            Point lowestPoint = null;
-            int lowest = 100;
-            
-            for (Point movePoint : validMoves(goalX, goalY)) {
-                int count = squares[movePoint.x][movePoint.y].distanceSteps;
-                
-                if (count < lowest) {
-                    lowest = count;
-                    lowestPoint = new Point(movePoint.x, movePoint.y);
-                }
+        while (x != goalX || y != goalY) {
+            if (steps.size() >= MAX_STEPS) {
+                return false;
             }
             
-            if (lowest != 100 && lowestPoint != null) {
-                squares[lowestPoint.x][lowestPoint.y].isPath = true;
-                goalX = lowestPoint.x;
-                goalY = lowestPoint.y;
-                
-                path.add(new Coord(lowestPoint.x, lowestPoint.y));
-            } else {
-                break;
+            int bestX = -1;
+            int bestY = -1;
+            int best = FlowField.UNREACHABLE;
+            for (int m = 0; m < moveX.length; m++) {
+                int newX = x + moveX[m];
+                int newY = y + moveY[m];
+                int d = field.getDistance(newX, newY);
+                if (d >= best || d >= distance) {
+                    continue;
+                }
+                if ((newX != goalX || newY != goalY) && !isSquareOpen(newX, newY, startHeight)) {
+                    continue;
+                }
+                bestX = newX;
+                bestY = newY;
+                best = d;
             }
             
-            if (goalX == userX && goalY == userY) {
-                break;
+            if (best == FlowField.UNREACHABLE) {
+                return false;
             }
+            x = bestX;
+            y = bestY;
+            distance = best;
+            steps.add(new Coord(x, y));
         }
         
-        return path;
+        // steps runs start to goal (goal last); the path runs goal to start
+        for (int i = steps.size() - 2; i >= 0; i--) {
+            path.add(steps.get(i));
+        }
+        path.add(new Coord(startX, startY));
+        return true;
     }
     
-    private boolean isSquareOpen(int x, int y, boolean checkHeight) {
-        if (room.validTile(x, y) && user.isAllowOverride()) {
-            return true;
+    /**
+     * Checks (once per search) whether a tile can be walked on.
+     */
+    private boolean isSquareOpen(Scratch scratch, int index, int x, int y, double startHeight) {
+        byte state = scratch.state[index];
+        if ((state & Scratch.OPEN_KNOWN) != 0) {
+            return (state & Scratch.OPEN) != 0;
         }
         
-        if (user.getX() == x && user.getY() == y) {
-            return true;
+        boolean open = isSquareOpen(x, y, startHeight);
+        scratch.state[index] = (byte) (state | Scratch.OPEN_KNOWN | (open ? Scratch.OPEN : 0));
+        return open;
+    }
+    
+    private boolean isSquareOpen(int x, int y, double startHeight) {
+        if (allowOverride) {
+            return true; // In bounds is all that matters
         }
         
-        boolean isLastStep = false;
-        
-        if (user.getGoalX() == x && user.getGoalY() == y) {
-            isLastStep = true;
+        if (startX == x && startY == y) {
+            return true;
         }
         
-        if (!room.canWalk(x, y, 0, isLastStep)) {
+        boolean isLastStep = goalX == x && goalY == y;
+        
+        if (!snapshot.canWalk(x, y, isLastStep)) {
             return false;
         }
         
-        // Check height difference if RoomMapping is available and checkHeight is true
-        if (checkHeight && roomMapping != null) {
-            double[][] heightMatrix = roomMapping.getHeightMatrix();
-            double[][] topStackHeight = roomMapping.getTopStackHeight();
-            double[][] sqFloorHeight = model.getSqFloorHeight();
-            
-            int userX = user.getX();
-            int userY = user.getY();
-            
-            if (userX >= 0 && userX < mapSizeX && userY >= 0 && userY < mapSizeY &&
-                x >= 0 && x < mapSizeX && y >= 0 && y < mapSizeY) {
-                
-                // Calculate current height
-                double currentHeight = sqFloorHeight[userX][userY] + topStackHeight[userX][userY] + heightMatrix[userX][userY];
-                
-                // Calculate target height
-                double targetHeight = sqFloorHeight[x][y] + topStackHeight[x][y] + heightMatrix[x][y];
-                
-                // Check if height difference is too large
-                double heightDiff = Math.abs(targetHeight - currentHeight);
-                if (heightDiff > MAX_HEIGHT_DIFF) {
-                    return false;
-                }
-            }
+        // Height is compared against the tile the user is standing on
+        double heightDiff = Math.abs(snapshot.getHeight(x, y) - startHeight);
+        if (heightDiff > MAX_HEIGHT_DIFF) {
+            return false;
         }
         
         return true;
     }
     
-    private boolean validCoordinates(int x, int y) {
-        // Uses x > mapSizeX (not >=)
-        if (x < 0 || y < 0 || x > mapSizeX || y > mapSizeY) {
-            return false;
-        }
-        
-        return true;
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < mapSizeX && y < mapSizeY;
+    }
+    
+    private int index(int x, int y) {
+        return x * mapSizeY + y;
+    }
+    
+    private static int heuristic(int x, int y, int goalX, int goalY) {
+        return Math.max(Math.abs(x - goalX), Math.abs(y - goalY));
     }
     
     public void initMovements(int movementCount) {
         if (movementCount == 4) {
-            movements = new Point[] {
-                new Point(0, -1),
-                new Point(1, 0),
-                new Point(0, 1),
-                new Point(-1, 0)
-            };
+            moveX = new int[] { 0, 1, 0, -1 };
+            moveY = new int[] { -1, 0, 1, 0 };
         } else {
-            movements = new Point[] {
-                new Point(-1, -1),
-                new Point(0, -1),
-                new Point(1, -1),
-                new Point(1, 0),
-                new Point(1, 1),
-                new Point(0, 1),
-                new Point(-1, 1),
-                new Point(-1, 0)
-            };
+            moveX = new int[] { -1, 0, 1, 1, 1, 0, -1, -1 };
+            moveY = new int[] { -1, -1, -1, 0, 1, 1, 1, 0 };
+        }
+    }
+    
+    /**
+     * Per-thread search state. A tile's entries are only meaningful when its stamp matches the
+     * current generation; {@link #touch} resets them on first use in a search.
+     */
+    private static final class Scratch {
+        static final byte CLOSED = 1;
+        static final byte OPEN_KNOWN = 2;
+        static final byte OPEN = 4;
+        
+        int[] stamp = new int[0];
+        int[] g = new int[0];
+        int[] parent = new int[0];
+        byte[] state = new byte[0];
+        long[] heap = new long[64];
+        int heapSize;
+        int generation;
+        
+        void begin(int tiles) {
+            if (stamp.length < tiles) {
+                stamp = new int[tiles];
+                g = new int[tiles];
+                parent = new int[tiles];
+                state = new byte[tiles];
+                generation = 0;
+            }
+            
+            generation++;
+            if (generation == 0) {
+                // Wrapped; old stamps could collide with new generations
+                java.util.Arrays.fill(stamp, 0);
+                generation = 1;
+            }
+            heapSize = 0;
+        }
+        
+        void touch(int index) {
+            if (stamp[index] != generation) {
+                stamp[index] = generation;
+                g[index] = Integer.MAX_VALUE;
+                parent[index] = -1;
+                state[index] = 0;
+            }
+        }
+        
+        boolean isHeapEmpty() {
+            return heapSize == 0;
+        }
+        
+        /**
+         * Pushes a node ordered by f, then by h (prefer nodes closer to the goal).
+         * f and h are below 2^20 and the node index below 2^24, so the key packs into a long.
+         */
+        void push(int f, int h, int node) {
+            long key = ((long) f << 44) | ((long) h << 24) | node;
+            if (heapSize == heap.length) {
+                heap = java.util.Arrays.copyOf(heap, heapSize * 2);
+            }
+            
+            int i = heapSize++;
+            while (i > 0) {
+                int parentIndex = (i - 1) >>> 1;
+                if (heap[parentIndex] <= key) {
+                    break;
+                }
+                heap[i] = heap[parentIndex];
+                i = parentIndex;
+            }
+            heap[i] = key;
+        }
+        
+        int pop() {
+            long top = heap[0];
+            long last = heap[--heapSize];
+            
+            int i = 0;
+            int half = heapSize >>> 1;
+            while (i < half) {
+                int child = (i << 1) + 1;
+                if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (heapSize > 0) {
+                heap[i] = last;
+            }
+            
+            return (int) (top & 0xFFFFFF);
         }
     }
 }
@@ -56,6 +56,7 @@ public class Room {
     private final RoomBotService botService;
     private final RoomProcessService processService;
     private final RoomUserService userService;
+    private final RoomBroadcastService broadcastService;
     
     // Room mapping/collision system
     private RoomMapping roomMapping;
@@ -96,9 +97,10 @@ public class Room {
         keepAliveRef[0] = keepAlive;
         int[] idleTimeRef = new int[1];
         idleTimeRef[0] = idleTime;
-        this.processService = new RoomProcessService(this, items, users, keepAliveRef, idleTimeRef);
+        this.broadcastService = new RoomBroadcastService(this);
+        this.processService = new RoomProcessService(this, items, users, broadcastService, keepAliveRef, idleTimeRef);
         
-        this.userService = new RoomUserService(this, users, rightsService, userCounter);
+        this.userService = new RoomUserService(this, users, rightsService, broadcastService, userCounter);
         
         // Initialize room mapping
         RoomModel model = getModel();
@@ -149,6 +151,7 @@ public class Room {
     public void addUserToRoom(GameClient session, boolean spectator) {
         userService.addUserToRoom(session, spectator);
         userCounter = userService.getUserCounter();
+        processService.wake();
     }
     
     /**
@@ -161,27 +164,11 @@ public class Room {
     
     /**
      * Sends a message to all users in the room.
+     * Delegates to RoomBroadcastService (encoded once, shared by all recipients).
      * @param message ServerMessage to send
      */
     public void sendMessage(ServerMessage message) {
-        if (message == null) {
-            return;
-        }
-        
-        try {
-            for (RoomUser user : users.values()) {
-                if (user.isBot() || user.isSpectator()) {
-                    continue;
-                }
-                
-                GameClient client = user.getClient();
-                if (client != null) {
-                    client.sendMessage(message);
-                }
-            }
-        } catch (Exception e) {
-            logger.error("Error sending message to room {}: {}", roomId, e.getMessage(), e);
-        }
+        broadcastService.sendMessage(message);
     }
     
     /**
@@ -432,6 +419,7 @@ public class Room {
     public RoomUser deployPet(com.uber.server.game.pets.Pet pet, int x, int y) {
         RoomUser result = botService.deployPet(pet, x, y);
         userCounter = botService.getUserCounter();
+        processService.wake();
         return result;
     }
     
@@ -460,6 +448,7 @@ public class Room {
     public RoomUser deployBot(com.uber.server.game.bots.RoomBot bot) {
         RoomUser result = botService.deployBot(bot);
         userCounter = botService.getUserCounter();
+        processService.wake();
         return result;
     }
     
@@ -470,6 +459,7 @@ public class Room {
     public RoomUser deployBot(com.uber.server.game.bots.RoomBot bot, com.uber.server.game.pets.Pet petData) {
         RoomUser result = botService.deployBot(bot, petData);
         userCounter = botService.getUserCounter();
+        processService.wake();
         return result;
     }
     
@@ -658,6 +648,7 @@ public class Room {
         sendMessage(composer.compose());
         keepAlive = false;
         users.clear();
+        broadcastService.clear();
         // Items can remain for room reloading
     }
     
@@ -682,7 +673,11 @@ public class Room {
      * Delegates to RoomItemService.
      */
     public boolean setFloorItem(GameClient session, RoomItem item, int newX, int newY, int newRot, boolean newItem) {
-        return itemService.setFloorItem(session, item, newX, newY, newRot, newItem);
+        boolean result = itemService.setFloorItem(session, item, newX, newY, newRot, newItem);
+        if (result) {
+            processService.wake(); // The item may be a roller
+        }
+        return result;
     }
     
     /**
@@ -798,60 +793,49 @@ public class Room {
         processService.stopProcessRoutine();
     }
     
+    /**
+     * Queues a room-affecting action to run on the room's tick thread before the next tick.
+     * Delegates to RoomProcessService.
+     */
+    public void submitCommand(Runnable command) {
+        processService.submit(command);
+    }
+    
+    /**
+     * Brings a hibernating room back to full tick rate.
+     * Delegates to RoomProcessService.
+     */
+    public void wakeProcessRoutine() {
+        processService.wake();
+    }
+    
+    /**
+     * Checks if the room is ticking at the slow hibernation rate.
+     * Delegates to RoomProcessService.
+     */
+    public boolean isHibernating() {
+        return processService.isHibernating();
+    }
+    
+    /**
+     * Gets the tick duration profile of this room.
+     * Delegates to RoomProcessService.
+     */
+    public RoomTickProfile getTickProfile() {
+        return processService.getTickProfile();
+    }
+    
     /**
      * Gets furniture items on a specific square.
      * @param x X coordinate
      * @param y Y coordinate
-     * @return List of RoomItems on that square, or empty list if none
+     * @return Copy of the RoomItems on that square bottom to top, or empty list if none
      */
     public List<com.uber.server.game.items.RoomItem> getFurniObjects(int x, int y) {
-        List<com.uber.server.game.items.RoomItem> results = new ArrayList<>();
-        
-        for (com.uber.server.game.items.RoomItem item : items.values()) {
-            if (!item.isFloorItem()) {
-                continue;
-            }
-            
-            // Check if item is at this position
-            if (item.getX() == x && item.getY() == y) {
-                results.add(item);
-                continue;
-            }
-            
-            // Check if item affects this square (for multi-tile items)
-            // This is a simplified version - full implementation would use GetAffectedTiles
-            com.uber.server.game.items.Item baseItem = item.getBaseItem();
-            if (baseItem != null) {
-                int length = baseItem.getLength();
-                int width = baseItem.getWidth();
-                int rot = item.getRot();
-                int itemX = item.getX();
-                int itemY = item.getY();
-                
-                // Check if (x, y) is within the item's affected area
-                boolean isAffected = false;
-                if (length > 1 || width > 1) {
-                    // Simple check for multi-tile items
-                    if (rot == 0 || rot == 4) {
-                        // North/South rotation
-                        if (x >= itemX && x < itemX + width && y >= itemY && y < itemY + length) {
-                            isAffected = true;
-                        }
-                    } else if (rot == 2 || rot == 6) {
-                        // East/West rotation
-                        if (x >= itemX && x < itemX + length && y >= itemY && y < itemY + width) {
-                            isAffected = true;
-                        }
-                    }
-                }
-                
-                if (isAffected) {
-                    results.add(item);
-                }
-            }
+        if (roomMapping == null) {
+            return new ArrayList<>();
         }
-        
-        return results;
+        return roomMapping.getItemsAt(x, y);
     }
     
     /**
@@ -0,0 +1,28 @@
+package com.uber.server.game.rooms;
+
+/**
+ * Phases of a room tick, as measured by {@link RoomTickProfile}.
+ */
+public enum RoomTickPhase {
+    COMMANDS("commands"),
+    ITEMS("items"),
+    ROLLERS("rollers"),
+    MOVEMENT("movement"),
+    PATHFINDING("paths"),
+    BOT_AI("bots"),
+    STATUS("status");
+    
+    private final String label;
+    
+    RoomTickPhase(String label) {
+        this.label = label;
+    }
+    
+    /**
+     * Gets the short name used in console output.
+     * @return Label
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,183 @@
+package com.uber.server.game.rooms;
+
+import com.uber.server.game.threading.RoomTickEngine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tick duration histograms for one room, per phase and for the whole tick.
+ * Only the room's tick shard records; the console reads concurrently. Durations go into
+ * power-of-two microsecond buckets (bucket 0 is under 1us, bucket n covers [2^(n-1), 2^n) us,
+ * the last bucket is open-ended), so percentiles are upper bounds.
+ * A tick overruns when it takes longer than the tick interval; a tick is skipped when the
+ * shard starts the room's next tick more than an interval late.
+ */
+public class RoomTickProfile {
+    public static final int BUCKETS = 24; // Up to ~4s, last bucket catches the rest
+    
+    private static final int PHASES = RoomTickPhase.values().length;
+    private static final int TOTAL = PHASES; // Slot for the whole tick
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(RoomTickEngine.TICK_INTERVAL_MS);
+    
+    private final AtomicLong ticks;
+    private final AtomicLong overruns;
+    private final AtomicLong skippedTicks;
+    private final AtomicLongArray totalNanos; // [phase], TOTAL for the whole tick
+    private final AtomicLongArray maxNanos;
+    private final AtomicLongArray histogram; // [slot * BUCKETS + bucket]
+    private long lastTickStart; // Shard thread only
+    
+    public RoomTickProfile() {
+        this.ticks = new AtomicLong();
+        this.overruns = new AtomicLong();
+        this.skippedTicks = new AtomicLong();
+        this.totalNanos = new AtomicLongArray(PHASES + 1);
+        this.maxNanos = new AtomicLongArray(PHASES + 1);
+        this.histogram = new AtomicLongArray((PHASES + 1) * BUCKETS);
+    }
+    
+    /**
+     * Marks the start of a tick and counts the ticks missed since the previous one.
+     * @param now System.nanoTime() at tick start
+     * @param cycles Tick cycles expected since the previous tick (more than 1 for a hibernating room)
+     */
+    public void beginTick(long now, int cycles) {
+        if (lastTickStart != 0) {
+            long late = now - lastTickStart - cycles * INTERVAL_NANOS;
+            if (late >= INTERVAL_NANOS) {
+                skippedTicks.addAndGet(late / INTERVAL_NANOS);
+            }
+        }
+        lastTickStart = now;
+    }
+    
+    /**
+     * Records the time spent in one phase of the current tick.
+     * @param phase Tick phase
+     * @param nanos Time spent
+     */
+    public void record(RoomTickPhase phase, long nanos) {
+        recordSlot(phase.ordinal(), nanos);
+    }
+    
+    /**
+     * Records the duration of a whole tick.
+     * @param nanos Tick duration
+     * @return True if the tick overran the tick interval
+     */
+    public boolean endTick(long nanos) {
+        ticks.incrementAndGet();
+        recordSlot(TOTAL, nanos);
+        if (nanos > INTERVAL_NANOS) {
+            overruns.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Clears all counters and histograms.
+     */
+    public void reset() {
+        ticks.set(0);
+        overruns.set(0);
+        skippedTicks.set(0);
+        for (int i = 0; i <= PHASES; i++) {
+            totalNanos.set(i, 0);
+            maxNanos.set(i, 0);
+        }
+        for (int i = 0; i < histogram.length(); i++) {
+            histogram.set(i, 0);
+        }
+    }
+    
+    public long getTickCount() {
+        return ticks.get();
+    }
+    
+    public long getOverruns() {
+        return overruns.get();
+    }
+    
+    public long getSkippedTicks() {
+        return skippedTicks.get();
+    }
+    
+    public long getMeanNanos() {
+        return meanNanos(TOTAL);
+    }
+    
+    public long getMeanNanos(RoomTickPhase phase) {
+        return meanNanos(phase.ordinal());
+    }
+    
+    public long getMaxNanos() {
+        return maxNanos.get(TOTAL);
+    }
+    
+    public long getMaxNanos(RoomTickPhase phase) {
+        return maxNanos.get(phase.ordinal());
+    }
+    
+    /**
+     * Gets an upper bound for a whole-tick duration percentile.
+     * @param percentile Percentile (0-100)
+     * @return Upper edge of the bucket holding the percentile, in microseconds
+     */
+    public long getPercentileMicros(double percentile) {
+        return percentileMicros(TOTAL, percentile);
+    }
+    
+    /**
+     * Gets an upper bound for a phase duration percentile.
+     * @param phase Tick phase
+     * @param percentile Percentile (0-100)
+     * @return Upper edge of the bucket holding the percentile, in microseconds
+     */
+    public long getPercentileMicros(RoomTickPhase phase, double percentile) {
+        return percentileMicros(phase.ordinal(), percentile);
+    }
+    
+    private void recordSlot(int slot, long nanos) {
+        totalNanos.addAndGet(slot, nanos);
+        histogram.incrementAndGet(slot * BUCKETS + bucketFor(nanos));
+        if (nanos > maxNanos.get(slot)) {
+            maxNanos.set(slot, nanos); // Single writer
+        }
+    }
+    
+    private long meanNanos(int slot) {
+        long count = ticks.get();
+        return count == 0 ? 0 : totalNanos.get(slot) / count;
+    }
+    
+    private long percentileMicros(int slot, double percentile) {
+        long[] buckets = new long[BUCKETS];
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            buckets[b] = histogram.get(slot * BUCKETS + b);
+            total += buckets[b];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        
+        long target = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += buckets[b];
+            if (seen >= target) {
+                return b == 0 ? 1 : 1L << b;
+            }
+        }
+        return 1L << (BUCKETS - 1);
+    }
+    
+    private static int bucketFor(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+}
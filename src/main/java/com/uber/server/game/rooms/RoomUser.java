@@ -18,6 +18,9 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class RoomUser {
     private static final Logger logger = LoggerFactory.getLogger(RoomUser.class);
+    private static final int CARRY_TICKS = 240;
+    private static final long CARRY_TICK_NANOS = java.util.concurrent.TimeUnit.MILLISECONDS.toNanos(
+        com.uber.server.game.threading.RoomTickEngine.TICK_INTERVAL_MS);
 
     private final long habboId;
     private final long roomId;
@@ -32,7 +35,8 @@ public class RoomUser {
 
     private int idleTime;
     private int carryItemId;
-    private int carryTimer;
+    private volatile com.uber.server.game.threading.GameTimer.Timeout carryTimeout;
+    private long carryExpiresAt; // System.nanoTime() deadline
     private boolean canWalk;
     private boolean allowOverride;
     private int goalX;
@@ -52,6 +56,7 @@ public class RoomUser {
     private boolean pathRecalcNeeded;
     private int pathRecalcX;
     private int pathRecalcY;
+    private volatile int pathRequestId; // Bumped by every new path request and by clearMovement
     private int teleDelay;
 
     private boolean isSpectator;
@@ -73,7 +78,6 @@ public class RoomUser {
         this.rotBody = 0;
         this.idleTime = 0;
         this.carryItemId = 0;
-        this.carryTimer = 0;
         this.canWalk = true;
         this.allowOverride = false;
         this.goalX = 0;
@@ -241,7 +245,11 @@ public class RoomUser {
     }
 
     public void setUpdateNeeded(boolean updateNeeded) {
+        boolean wasNeeded = this.updateNeeded;
         this.updateNeeded = updateNeeded;
+        if (updateNeeded && !wasNeeded) {
+            wakeRoom(); // Status updates go out on the next tick
+        }
     }
 
     public boolean isAsleep() {
@@ -300,6 +308,18 @@ public class RoomUser {
         this.pathRecalcY = pathRecalcY;
     }
 
+    public int getPathRequestId() {
+        return pathRequestId;
+    }
+
+    /**
+     * Starts a new path request, superseding any request still being computed.
+     * @return ID of the new request
+     */
+    public int nextPathRequestId() {
+        return ++pathRequestId;
+    }
+
     public int getPathStep() {
         return pathStep;
     }
@@ -372,12 +392,22 @@ public class RoomUser {
         this.idleTime++;
     }
 
-    public int getCarryTimer() {
-        return carryTimer;
+    /**
+     * Adds several ticks of idle time at once (slow ticks of a hibernating room).
+     */
+    public void incrementIdleTime(int ticks) {
+        this.idleTime += ticks;
     }
 
-    public void decrementCarryTimer() {
-        this.carryTimer--;
+    /**
+     * Gets the remaining carry time in room ticks.
+     */
+    public int getCarryTimer() {
+        if (carryItemId <= 0) {
+            return 0;
+        }
+        long remaining = carryExpiresAt - System.nanoTime();
+        return remaining <= 0 ? 0 : (int) ((remaining + CARRY_TICK_NANOS - 1) / CARRY_TICK_NANOS);
     }
 
     public int getTeleDelay() {
@@ -501,6 +531,7 @@ public class RoomUser {
         pathRecalcNeeded = true;
         pathRecalcX = x;
         pathRecalcY = y;
+        wakeRoom();
     }
 
     /**
@@ -527,6 +558,7 @@ public class RoomUser {
     public void clearMovement(boolean update) {
         isWalking = false;
         pathRecalcNeeded = false;
+        pathRequestId++;
         path.clear();
         statuses.remove("mv");
         goalX = 0;
@@ -555,10 +587,28 @@ public class RoomUser {
     public void carryItem(int itemId) {
         this.carryItemId = itemId;
 
+        com.uber.server.game.threading.GameTimer.Timeout previous = carryTimeout;
+        if (previous != null) {
+            previous.cancel();
+            carryTimeout = null;
+        }
+
         if (itemId > 0) {
-            this.carryTimer = 240;
-        } else {
-            this.carryTimer = 0;
+            // Drop the item after 240 ticks; the drop itself runs on the room's tick thread
+            carryExpiresAt = System.nanoTime() + CARRY_TICKS * CARRY_TICK_NANOS;
+            com.uber.server.game.threading.GameTimer.Timeout[] timeout = new com.uber.server.game.threading.GameTimer.Timeout[1];
+            timeout[0] = com.uber.server.game.threading.GameThreadPool.getInstance().getGameTimer().schedule(
+                CARRY_TICKS * CARRY_TICK_NANOS, java.util.concurrent.TimeUnit.NANOSECONDS, () -> {
+                    Room room = getRoom();
+                    if (room != null) {
+                        room.submitCommand(() -> {
+                            if (carryTimeout == timeout[0]) {
+                                carryItem(0);
+                            }
+                        });
+                    }
+                });
+            carryTimeout = timeout[0];
         }
 
         // Send carry item update message
@@ -775,4 +825,14 @@ public class RoomUser {
         }
         return game.getRoomManager().getRoom(roomId);
     }
+
+    /**
+     * Brings the room back to full tick rate if it is hibernating.
+     */
+    private void wakeRoom() {
+        Room room = getRoom();
+        if (room != null) {
+            room.wakeProcessRoutine();
+        }
+    }
 }
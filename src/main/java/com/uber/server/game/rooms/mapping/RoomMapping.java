@@ -2,38 +2,59 @@ package com.uber.server.game.rooms.mapping;
 
 import com.uber.server.game.items.Item;
 import com.uber.server.game.items.RoomItem;
-import com.uber.server.game.pathfinding.Coord;
+import com.uber.server.game.pathfinding.FlowFieldCache;
 import com.uber.server.game.rooms.Room;
 import com.uber.server.game.rooms.RoomModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Handles room collision mapping and pathfinding data structures.
  * Manages matrices for walkability, user positions, bed positions, and heights.
+ * All matrices are flat primitive arrays indexed by {@code x * mapSizeY + y}. They are built
+ * in full once ({@link #regenerateMatrix()}); after that, placing, moving, removing or toggling
+ * an item only recomputes the tiles under the item's footprint. Floor items are also indexed
+ * per tile, so recomputing a tile or looking up what stands on it only reads that tile's stack,
+ * and rollers are kept in their own set so the tick does not scan the room for them.
+ * The matrices are changed in place: the item hooks must only be called on the room's tick
+ * thread, from the tick itself or from a room command ({@link Room#submitCommand}).
  */
 public class RoomMapping {
     private static final Logger logger = LoggerFactory.getLogger(RoomMapping.class);
     
+    // Tile states, as stored in the walk matrix (MatrixState values)
+    public static final byte TILE_BLOCKED = (byte) MatrixState.BLOCKED.getValue();
+    public static final byte TILE_WALKABLE = (byte) MatrixState.WALKABLE.getValue();
+    public static final byte TILE_WALKABLE_LASTSTEP = (byte) MatrixState.WALKABLE_LASTSTEP.getValue();
+    
     private final Room room;
     private final RoomModel model;
     
     // Collision matrices
-    private MatrixState[][] matrix;
-    private boolean[][] userMatrix;
-    private Coord[][] bedMatrix;
-    private double[][] heightMatrix;
-    private double[][] topStackHeight;
+    private final byte[] matrix;
+    private final boolean[] userMatrix;
+    private final int[] bedMatrix; // Packed (x << 16 | y) of the tile a user on this tile occupies
+    private final float[] heightMatrix;
+    private final float[] topStackHeight;
     
     private final int mapSizeX;
     private final int mapSizeY;
     private final boolean allowWalkthrough;
     
+    // Floor items per tile, bottom to top
+    private final TileItemIndex itemIndex;
+    private final LinkedHashSet<RoomItem> rollers;
+    
+    // Distance fields to common destinations, dropped whenever the matrix changes
+    private final FlowFieldCache flowFieldCache;
+    
     public RoomMapping(Room room, RoomModel model, boolean allowWalkthrough) {
         this.room = room;
         this.model = model;
@@ -42,16 +63,20 @@ public class RoomMapping {
         this.mapSizeY = model != null ? model.getMapSizeY() : 0;
         
         // Initialize matrices
-        this.matrix = new MatrixState[mapSizeX][mapSizeY];
-        this.userMatrix = new boolean[mapSizeX][mapSizeY];
-        this.bedMatrix = new Coord[mapSizeX][mapSizeY];
-        this.heightMatrix = new double[mapSizeX][mapSizeY];
-        this.topStackHeight = new double[mapSizeX][mapSizeY];
+        int tiles = mapSizeX * mapSizeY;
+        this.matrix = new byte[tiles];
+        this.userMatrix = new boolean[tiles];
+        this.bedMatrix = new int[tiles];
+        this.heightMatrix = new float[tiles];
+        this.topStackHeight = new float[tiles];
+        this.itemIndex = new TileItemIndex(mapSizeX, mapSizeY);
+        this.rollers = new LinkedHashSet<>();
+        this.flowFieldCache = new FlowFieldCache();
         
         // Initialize bed matrix with default coords
         for (int x = 0; x < mapSizeX; x++) {
             for (int y = 0; y < mapSizeY; y++) {
-                bedMatrix[x][y] = new Coord(x, y);
+                bedMatrix[index(x, y)] = pack(x, y);
             }
         }
     }
@@ -64,132 +89,217 @@ public class RoomMapping {
             return;
         }
         
-        // Create matrix arrays
-        this.matrix = new MatrixState[mapSizeX][mapSizeY];
-        this.bedMatrix = new Coord[mapSizeX][mapSizeY];
-        this.heightMatrix = new double[mapSizeX][mapSizeY];
-        this.topStackHeight = new double[mapSizeX][mapSizeY];
+        // Index the items in the room
+        itemIndex.clear();
+        rollers.clear();
+        for (RoomItem item : room.getFloorItems()) {
+            itemIndex.add(item, item.getX(), item.getY(), item.getRot());
+            if (isRoller(item)) {
+                rollers.add(item);
+            }
+        }
+        
+        // Build every tile from the heightmap and its stack
+        for (int x = 0; x < mapSizeX; x++) {
+            for (int y = 0; y < mapSizeY; y++) {
+                recomputeTile(x, y);
+            }
+        }
         
-        // Fill in the basic data based purely on the heightmap
-        for (int y = 0; y < mapSizeY; y++) {
-            for (int x = 0; x < mapSizeX; x++) {
-                matrix[x][y] = MatrixState.BLOCKED;
-                bedMatrix[x][y] = new Coord(x, y);
-                heightMatrix[x][y] = 0;
-                topStackHeight[x][y] = 0.0;
-                
-                if (x == model.getDoorX() && y == model.getDoorY()) {
-                    matrix[x][y] = MatrixState.WALKABLE_LASTSTEP;
-                } else if (model.getSqState()[x][y] == SquareState.OPEN) {
-                    matrix[x][y] = MatrixState.WALKABLE;
-                } else if (model.getSqState()[x][y] == SquareState.SEAT) {
-                    matrix[x][y] = MatrixState.WALKABLE_LASTSTEP;
+        flowFieldCache.invalidate();
+    }
+    
+    /**
+     * Updates the tiles under a newly placed floor item.
+     * @param item Item, already in the room's item list
+     */
+    public void onItemAdded(RoomItem item) {
+        itemIndex.add(item, item.getX(), item.getY(), item.getRot());
+        if (isRoller(item)) {
+            rollers.add(item);
+        }
+        updateTiles(item, item.getX(), item.getY(), item.getRot());
+    }
+    
+    /**
+     * Updates the tiles an item used to cover.
+     * @param item Item, already removed from the room's item list
+     */
+    public void onItemRemoved(RoomItem item) {
+        itemIndex.remove(item, item.getX(), item.getY(), item.getRot());
+        rollers.remove(item);
+        updateTiles(item, item.getX(), item.getY(), item.getRot());
+    }
+    
+    /**
+     * Updates the tiles under an item's old and new position.
+     * @param item Item at its new position and height
+     * @param oldX Previous X
+     * @param oldY Previous Y
+     * @param oldRot Previous rotation
+     */
+    public void onItemMoved(RoomItem item, int oldX, int oldY, int oldRot) {
+        itemIndex.remove(item, oldX, oldY, oldRot);
+        itemIndex.add(item, item.getX(), item.getY(), item.getRot());
+        updateTiles(item, oldX, oldY, oldRot);
+        updateTiles(item, item.getX(), item.getY(), item.getRot());
+    }
+    
+    /**
+     * Updates the tiles under an item whose state changed in a way that affects walking
+     * (e.g. a gate opening or closing).
+     * @param item Item
+     */
+    public void onItemUpdated(RoomItem item) {
+        updateTiles(item, item.getX(), item.getY(), item.getRot());
+    }
+    
+    /**
+     * Checks if an item is a roller.
+     * Rollers are identified by their item name containing "roller".
+     */
+    private static boolean isRoller(RoomItem item) {
+        Item baseItem = item.getBaseItem();
+        if (baseItem == null || !baseItem.isFloorItem()) {
+            return false;
+        }
+        
+        String itemName = baseItem.getItemName();
+        return itemName != null && itemName.toLowerCase().contains("roller");
+    }
+    
+    /**
+     * Recomputes every tile of an item's footprint at the given position.
+     */
+    private void updateTiles(RoomItem item, int posX, int posY, int rot) {
+        Item baseItem = item.getBaseItem();
+        if (model == null || baseItem == null) {
+            return;
+        }
+        
+        boolean changed = false;
+        int sizeX = footprintX(baseItem, rot);
+        int sizeY = footprintY(baseItem, rot);
+        for (int dx = 0; dx < sizeX; dx++) {
+            for (int dy = 0; dy < sizeY; dy++) {
+                if (inBounds(posX + dx, posY + dy)) {
+                    changed |= recomputeTile(posX + dx, posY + dy);
                 }
             }
         }
         
-        // Loop through the items in the room
-        List<RoomItem> floorItems = room.getFloorItems();
-        for (RoomItem item : floorItems) {
+        if (changed) {
+            flowFieldCache.invalidate();
+        }
+    }
+    
+    /**
+     * Recomputes one tile from the heightmap and the items stacked on it, bottom to top.
+     * @return True if the tile's walk state changed
+     */
+    private boolean recomputeTile(int x, int y) {
+        byte before = matrix[index(x, y)];
+        resetTile(x, y);
+        
+        for (RoomItem item : itemIndex.view(x, y)) {
             Item baseItem = item.getBaseItem();
-            if (baseItem == null) {
-                continue;
-            }
             
-            // If this is a rug, ignore it
-            if (baseItem.getHeight() <= 0) {
+            // Rugs don't affect walking; neither do items placed outside the map
+            if (baseItem == null || baseItem.getHeight() <= 0 || !inBounds(item.getX(), item.getY())) {
                 continue;
             }
             
-            int itemX = item.getX();
-            int itemY = item.getY();
+            boolean affectedTile = x != item.getX() || y != item.getY();
+            applyItem(item, baseItem, x, y, affectedTile);
+        }
+        
+        return matrix[index(x, y)] != before;
+    }
+    
+    private void resetTile(int x, int y) {
+        int i = index(x, y);
+        matrix[i] = TILE_BLOCKED;
+        bedMatrix[i] = pack(x, y);
+        heightMatrix[i] = 0;
+        topStackHeight[i] = 0;
+        
+        if (x == model.getDoorX() && y == model.getDoorY()) {
+            matrix[i] = TILE_WALKABLE_LASTSTEP;
+        } else if (model.getSqState()[x][y] == SquareState.OPEN) {
+            matrix[i] = TILE_WALKABLE;
+        } else if (model.getSqState()[x][y] == SquareState.SEAT) {
+            matrix[i] = TILE_WALKABLE_LASTSTEP;
+        }
+    }
+    
+    /**
+     * Applies one item to one tile it covers.
+     * @param affectedTile True for footprint tiles other than the item's own position
+     */
+    private void applyItem(RoomItem item, Item baseItem, int x, int y, boolean affectedTile) {
+        int i = index(x, y);
+        
+        // Make sure we're the highest item here!
+        // Compared in float, as stored, so an item at the same height still replaces the one below
+        float z = (float) item.getZ();
+        if (topStackHeight[i] <= z) {
+            topStackHeight[i] = z;
             
-            // Bounds check
-            if (itemX < 0 || itemX >= mapSizeX || itemY < 0 || itemY >= mapSizeY) {
-                continue;
+            // If this item is walkable and on the floor, allow users to walk here
+            if (baseItem.isWalkable()) {
+                matrix[i] = TILE_WALKABLE;
+                heightMatrix[i] = (float) baseItem.getHeight();
             }
-            
-            // Make sure we're the highest item here!
-            if (topStackHeight[itemX][itemY] <= item.getZ()) {
-                topStackHeight[itemX][itemY] = item.getZ();
-                
-                // If this item is walkable and on the floor, allow users to walk here
-                if (baseItem.isWalkable()) {
-                    matrix[itemX][itemY] = MatrixState.WALKABLE;
-                    heightMatrix[itemX][itemY] = baseItem.getHeight();
-                }
-                // If this item is a gate, open, and on the floor, allow users to walk here
-                else if (item.getZ() <= (model.getSqFloorHeight()[itemX][itemY] + 0.1) && 
-                         "gate".equalsIgnoreCase(baseItem.getInteractionType()) && 
-                         "1".equals(item.getExtraData())) {
-                    matrix[itemX][itemY] = MatrixState.WALKABLE;
-                }
-                // If this item is a seat or a bed, make it's square walkable (but only if last step)
-                else if (baseItem.canSit() || "bed".equalsIgnoreCase(baseItem.getInteractionType())) {
-                    matrix[itemX][itemY] = MatrixState.WALKABLE_LASTSTEP;
-                }
-                // Finally, if it's none of those, block the square
-                else {
-                    matrix[itemX][itemY] = MatrixState.BLOCKED;
-                }
+            // If this item is a gate, open, and on the floor, allow users to walk here
+            else if (item.getZ() <= (model.getSqFloorHeight()[x][y] + 0.1) &&
+                     "gate".equalsIgnoreCase(baseItem.getInteractionType()) &&
+                     "1".equals(item.getExtraData())) {
+                matrix[i] = TILE_WALKABLE;
             }
-            
-            // Get affected tiles for multi-tile items
-            Map<Integer, AffectedTile> points = getAffectedTiles(
-                baseItem.getLength(), baseItem.getWidth(), itemX, itemY, item.getRot());
-            
-            if (points == null) {
-                points = new HashMap<>();
+            // If this item is a seat or a bed, make it's square walkable (but only if last step)
+            else if (baseItem.canSit() || "bed".equalsIgnoreCase(baseItem.getInteractionType())) {
+                matrix[i] = TILE_WALKABLE_LASTSTEP;
+            }
+            // Finally, if it's none of those, block the square
+            else {
+                matrix[i] = TILE_BLOCKED;
+            }
+        }
+        
+        // Set bed maps
+        if (affectedTile && "bed".equalsIgnoreCase(baseItem.getInteractionType())) {
+            if (item.getRot() == 0 || item.getRot() == 4) {
+                bedMatrix[i] = pack(unpackX(bedMatrix[i]), item.getY());
             }
             
-            for (AffectedTile tile : points.values()) {
-                int tileX = tile.getX();
-                int tileY = tile.getY();
-                
-                // Bounds check
-                if (tileX < 0 || tileX >= mapSizeX || tileY < 0 || tileY >= mapSizeY) {
-                    continue;
-                }
-                
-                // Make sure we're the highest item here!
-                if (topStackHeight[tileX][tileY] <= item.getZ()) {
-                    topStackHeight[tileX][tileY] = item.getZ();
-                    
-                    // If this item is walkable and on the floor, allow users to walk here
-                    if (baseItem.isWalkable()) {
-                        matrix[tileX][tileY] = MatrixState.WALKABLE;
-                        heightMatrix[tileX][tileY] = baseItem.getHeight();
-                    }
-                    // If this item is a gate, open, and on the floor, allow users to walk here
-                    else if (item.getZ() <= (model.getSqFloorHeight()[tileX][tileY] + 0.1) && 
-                             "gate".equalsIgnoreCase(baseItem.getInteractionType()) && 
-                             "1".equals(item.getExtraData())) {
-                        matrix[tileX][tileY] = MatrixState.WALKABLE;
-                    }
-                    // If this item is a seat or a bed, make it's square walkable (but only if last step)
-                    else if (baseItem.canSit() || "bed".equalsIgnoreCase(baseItem.getInteractionType())) {
-                        matrix[tileX][tileY] = MatrixState.WALKABLE_LASTSTEP;
-                    }
-                    // Finally, if it's none of those, block the square
-                    else {
-                        matrix[tileX][tileY] = MatrixState.BLOCKED;
-                    }
-                }
-                
-                // Set bed maps
-                if ("bed".equalsIgnoreCase(baseItem.getInteractionType())) {
-                    if (item.getRot() == 0 || item.getRot() == 4) {
-                        bedMatrix[tileX][tileY] = new Coord(bedMatrix[tileX][tileY].getX(), itemY);
-                    }
-                    
-                    if (item.getRot() == 2 || item.getRot() == 6) {
-                        bedMatrix[tileX][tileY] = new Coord(itemX, bedMatrix[tileX][tileY].getY());
-                    }
-                }
+            if (item.getRot() == 2 || item.getRot() == 6) {
+                bedMatrix[i] = pack(item.getX(), unpackY(bedMatrix[i]));
             }
         }
     }
     
+    /**
+     * Footprint size along X: the item's position plus {@link #getAffectedTiles} form a
+     * footprintX by footprintY rectangle. Rotations other than 0/2/4/6 cover one tile.
+     */
+    static int footprintX(Item baseItem, int rot) {
+        if (rot == 0 || rot == 4) {
+            return Math.max(1, baseItem.getWidth());
+        } else if (rot == 2 || rot == 6) {
+            return Math.max(1, baseItem.getLength());
+        }
+        return 1;
+    }
+    
+    static int footprintY(Item baseItem, int rot) {
+        if (rot == 0 || rot == 4) {
+            return Math.max(1, baseItem.getLength());
+        } else if (rot == 2 || rot == 6) {
+            return Math.max(1, baseItem.getWidth());
+        }
+        return 1;
+    }
+    
     /**
      * Gets the tiles affected by an item placement.
      */
@@ -252,9 +362,10 @@ public class RoomMapping {
             return false;
         }
         
-        if (matrix[x][y] == MatrixState.BLOCKED) {
+        byte state = matrix[index(x, y)];
+        if (state == TILE_BLOCKED) {
             return false;
-        } else if (matrix[x][y] == MatrixState.WALKABLE_LASTSTEP && !lastStep) {
+        } else if (state == TILE_WALKABLE_LASTSTEP && !lastStep) {
             return false;
         }
         
@@ -280,28 +391,28 @@ public class RoomMapping {
             return false;
         }
         
-        Coord coord = bedMatrix[x][y];
-        if (coord.getX() < 0 || coord.getX() >= mapSizeX || 
-            coord.getY() < 0 || coord.getY() >= mapSizeY) {
+        int bed = bedMatrix[index(x, y)];
+        return hasUserAt(unpackX(bed), unpackY(bed));
+    }
+    
+    /**
+     * Checks the user matrix directly, without bed resolution.
+     */
+    public boolean hasUserAt(int x, int y) {
+        if (x < 0 || x >= mapSizeX || y < 0 || y >= mapSizeY) {
             return false;
         }
-        
-        return userMatrix[coord.getX()][coord.getY()];
+        return userMatrix[index(x, y)];
     }
     
     /**
      * Regenerates the user matrix based on current user positions.
      */
     public void regenerateUserMatrix() {
-        this.userMatrix = new boolean[mapSizeX][mapSizeY];
+        java.util.Arrays.fill(userMatrix, false);
         
-        List<com.uber.server.game.rooms.RoomUser> users = new ArrayList<>(room.getUsers().values());
-        for (com.uber.server.game.rooms.RoomUser user : users) {
-            int x = user.getX();
-            int y = user.getY();
-            if (x >= 0 && x < mapSizeX && y >= 0 && y < mapSizeY) {
-                this.userMatrix[x][y] = true;
-            }
+        for (com.uber.server.game.rooms.RoomUser user : room.getUsers().values()) {
+            setUserPosition(user.getX(), user.getY(), true);
         }
     }
     
@@ -310,10 +421,32 @@ public class RoomMapping {
      */
     public void setUserPosition(int x, int y, boolean occupied) {
         if (x >= 0 && x < mapSizeX && y >= 0 && y < mapSizeY) {
-            userMatrix[x][y] = occupied;
+            userMatrix[index(x, y)] = occupied;
         }
     }
     
+    /**
+     * Copies the walkability, user positions and heights for pathfinding off the tick thread.
+     * Must be called on the room's tick thread.
+     * @return Immutable snapshot
+     */
+    public WalkSnapshot createSnapshot() {
+        int tiles = mapSizeX * mapSizeY;
+        byte[] walk = matrix.clone();
+        boolean[] occupied = new boolean[tiles];
+        double[] heights = new double[tiles];
+        double[][] floorHeight = model.getSqFloorHeight();
+        for (int x = 0; x < mapSizeX; x++) {
+            for (int y = 0; y < mapSizeY; y++) {
+                int i = index(x, y);
+                occupied[i] = squareHasUsers(x, y);
+                heights[i] = floorHeight[x][y] + topStackHeight[i] + heightMatrix[i];
+            }
+        }
+        
+        return new WalkSnapshot(mapSizeX, mapSizeY, allowWalkthrough, walk, occupied, heights, flowFieldCache.getVersion());
+    }
+    
     /**
      * Calculates the absolute height at a position (floor + items).
      */
@@ -322,49 +455,24 @@ public class RoomMapping {
             return 0.0;
         }
         
-        List<RoomItem> itemsOnSquare = room.getFloorItems();
         double highestStack = 0.0;
         boolean deduct = false;
         double deductable = 0.0;
         
-        // Find highest item stack on this square
-        // Check if item is at position OR if any affected tile matches
-        for (RoomItem item : itemsOnSquare) {
-            // Check if item is on this square (including multi-tile items)
-            boolean onSquare = false;
-            
-            // First check if item itself is at this position
-            if (item.getX() == x && item.getY() == y) {
-                onSquare = true;
-            }
-            
-            // Also check affected tiles (item can occupy multiple positions)
+        // Find highest item stack on this square (including multi-tile items covering it)
+        for (RoomItem item : itemIndex.view(x, y)) {
             Item baseItem = item.getBaseItem();
-            if (baseItem != null && !onSquare) {
-                Map<Integer, AffectedTile> affectedTiles = getAffectedTiles(
-                    baseItem.getLength(), baseItem.getWidth(), item.getX(), item.getY(), item.getRot());
-                for (AffectedTile tile : affectedTiles.values()) {
-                    if (tile.getX() == x && tile.getY() == y) {
-                        onSquare = true;
-                        break;
+            double totalHeight = item.getTotalHeight();
+            if (totalHeight > highestStack) {
+                if (baseItem != null) {
+                    if (baseItem.canSit() || "bed".equalsIgnoreCase(baseItem.getInteractionType())) {
+                        deduct = true;
+                        deductable = baseItem.getHeight();
+                    } else {
+                        deduct = false;
                     }
                 }
-            }
-            
-            if (onSquare) {
-                double totalHeight = item.getTotalHeight();
-                if (totalHeight > highestStack) {
-                    baseItem = item.getBaseItem();
-                    if (baseItem != null) {
-                        if (baseItem.canSit() || "bed".equalsIgnoreCase(baseItem.getInteractionType())) {
-                            deduct = true;
-                            deductable = baseItem.getHeight();
-                        } else {
-                            deduct = false;
-                        }
-                    }
-                    highestStack = totalHeight;
-                }
+                highestStack = totalHeight;
             }
         }
         
@@ -382,25 +490,72 @@ public class RoomMapping {
         return floorHeight + stackHeight;
     }
     
+    private int index(int x, int y) {
+        return x * mapSizeY + y;
+    }
+    
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && x < mapSizeX && y >= 0 && y < mapSizeY;
+    }
+    
+    private static int pack(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+    
+    private static int unpackX(int packed) {
+        return packed >> 16;
+    }
+    
+    private static int unpackY(int packed) {
+        return (short) packed;
+    }
+    
     // Getters
-    public MatrixState[][] getMatrix() {
-        return matrix;
+    
+    /**
+     * Gets the floor items on a tile, including multi-tile items covering it.
+     * @return Copy of the tile's stack, bottom to top
+     */
+    public List<RoomItem> getItemsAt(int x, int y) {
+        return itemIndex.get(x, y);
     }
     
-    public boolean[][] getUserMatrix() {
-        return userMatrix;
+    /**
+     * Gets the rollers in the room. A moved roller stays in the set; its position is read from
+     * the item itself.
+     * @return Live read-only view; tick thread only, and not while adding or removing items
+     */
+    public Collection<RoomItem> getRollers() {
+        return Collections.unmodifiableCollection(rollers);
     }
     
-    public Coord[][] getBedMatrix() {
-        return bedMatrix;
+    /**
+     * Gets the walk state of a tile.
+     * @return Tile state, BLOCKED outside the map
+     */
+    public MatrixState getTileState(int x, int y) {
+        if (!inBounds(x, y)) {
+            return MatrixState.BLOCKED;
+        }
+        return MatrixState.values()[matrix[index(x, y)]];
+    }
+    
+    /**
+     * Gets the X of the tile a user standing on (x, y) occupies (differs on beds).
+     */
+    public int getBedX(int x, int y) {
+        return inBounds(x, y) ? unpackX(bedMatrix[index(x, y)]) : x;
     }
     
-    public double[][] getHeightMatrix() {
-        return heightMatrix;
+    /**
+     * Gets the Y of the tile a user standing on (x, y) occupies (differs on beds).
+     */
+    public int getBedY(int x, int y) {
+        return inBounds(x, y) ? unpackY(bedMatrix[index(x, y)]) : y;
     }
     
-    public double[][] getTopStackHeight() {
-        return topStackHeight;
+    public FlowFieldCache getFlowFieldCache() {
+        return flowFieldCache;
     }
     
     public int getMapSizeX() {
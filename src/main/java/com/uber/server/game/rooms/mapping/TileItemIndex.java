@@ -0,0 +1,120 @@
+package com.uber.server.game.rooms.mapping;
+
+import com.uber.server.game.items.Item;
+import com.uber.server.game.items.RoomItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Floor items per tile, so lookups cost the size of one stack instead of a scan of the room.
+ * Each tile's stack is sorted bottom to top (by Z, then by item ID); a multi-tile item is listed
+ * on every tile of its footprint. Changed only through {@link RoomMapping}'s item hooks, which
+ * run on the room's tick thread (from the tick or a room command); callers elsewhere get copies.
+ */
+final class TileItemIndex {
+    private static final Comparator<RoomItem> STACK_ORDER =
+        Comparator.comparingDouble(RoomItem::getZ).thenComparingLong(RoomItem::getId);
+    
+    private final int mapSizeX;
+    private final int mapSizeY;
+    private final ArrayList<RoomItem>[] stacks; // Indexed by x * mapSizeY + y, null while empty
+    
+    @SuppressWarnings("unchecked")
+    TileItemIndex(int mapSizeX, int mapSizeY) {
+        this.mapSizeX = mapSizeX;
+        this.mapSizeY = mapSizeY;
+        this.stacks = (ArrayList<RoomItem>[]) new ArrayList[mapSizeX * mapSizeY];
+    }
+    
+    /**
+     * Lists an item on every tile of its footprint at the given position.
+     */
+    void add(RoomItem item, int posX, int posY, int rot) {
+        Item baseItem = item.getBaseItem();
+        int sizeX = baseItem != null ? RoomMapping.footprintX(baseItem, rot) : 1;
+        int sizeY = baseItem != null ? RoomMapping.footprintY(baseItem, rot) : 1;
+        for (int dx = 0; dx < sizeX; dx++) {
+            for (int dy = 0; dy < sizeY; dy++) {
+                if (!inBounds(posX + dx, posY + dy)) {
+                    continue;
+                }
+                
+                int index = (posX + dx) * mapSizeY + posY + dy;
+                ArrayList<RoomItem> stack = stacks[index];
+                if (stack == null) {
+                    stack = new ArrayList<>(2);
+                    stacks[index] = stack;
+                }
+                
+                int slot = Collections.binarySearch(stack, item, STACK_ORDER);
+                if (slot < 0) {
+                    stack.add(-slot - 1, item);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Unlists an item from every tile of its footprint at the given position.
+     */
+    void remove(RoomItem item, int posX, int posY, int rot) {
+        Item baseItem = item.getBaseItem();
+        int sizeX = baseItem != null ? RoomMapping.footprintX(baseItem, rot) : 1;
+        int sizeY = baseItem != null ? RoomMapping.footprintY(baseItem, rot) : 1;
+        for (int dx = 0; dx < sizeX; dx++) {
+            for (int dy = 0; dy < sizeY; dy++) {
+                if (!inBounds(posX + dx, posY + dy)) {
+                    continue;
+                }
+                
+                int index = (posX + dx) * mapSizeY + posY + dy;
+                ArrayList<RoomItem> stack = stacks[index];
+                if (stack == null) {
+                    continue;
+                }
+                
+                // By identity: the item's Z may have changed since it was added
+                for (int i = 0; i < stack.size(); i++) {
+                    if (stack.get(i) == item) {
+                        stack.remove(i);
+                        break;
+                    }
+                }
+                if (stack.isEmpty()) {
+                    stacks[index] = null;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Gets a copy of the items on a tile, bottom to top.
+     */
+    List<RoomItem> get(int x, int y) {
+        return new ArrayList<>(view(x, y));
+    }
+    
+    /**
+     * Gets the items on a tile, bottom to top, as a live read-only view. Tick thread only, and
+     * not while changing items on the tile.
+     */
+    List<RoomItem> view(int x, int y) {
+        if (!inBounds(x, y)) {
+            return Collections.emptyList();
+        }
+        
+        ArrayList<RoomItem> stack = stacks[x * mapSizeY + y];
+        return stack != null ? Collections.unmodifiableList(stack) : Collections.emptyList();
+    }
+    
+    void clear() {
+        java.util.Arrays.fill(stacks, null);
+    }
+    
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && x < mapSizeX && y >= 0 && y < mapSizeY;
+    }
+}
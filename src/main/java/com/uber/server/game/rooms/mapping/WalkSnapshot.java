@@ -0,0 +1,78 @@
+package com.uber.server.game.rooms.mapping;
+
+/**
+ * Immutable copy of the parts of a RoomMapping that pathfinding reads.
+ * Taken on the room's tick thread, then safe to use from any thread while the live mapping
+ * keeps changing.
+ */
+public final class WalkSnapshot {
+    private final int mapSizeX;
+    private final int mapSizeY;
+    private final boolean allowWalkthrough;
+    private final byte[] walk;
+    private final boolean[] occupied;
+    private final double[] heights;
+    private final int version;
+    
+    /**
+     * Wraps arrays indexed by {@code x * mapSizeY + y}; the caller hands over ownership.
+     * @param version Flow field cache version the walk matrix belongs to
+     */
+    WalkSnapshot(int mapSizeX, int mapSizeY, boolean allowWalkthrough, byte[] walk, boolean[] occupied,
+                 double[] heights, int version) {
+        this.mapSizeX = mapSizeX;
+        this.mapSizeY = mapSizeY;
+        this.allowWalkthrough = allowWalkthrough;
+        this.walk = walk;
+        this.occupied = occupied;
+        this.heights = heights;
+        this.version = version;
+    }
+    
+    /**
+     * Same rules as {@link RoomMapping#canWalk(int, int, double, boolean)} at snapshot time.
+     */
+    public boolean canWalk(int x, int y, boolean lastStep) {
+        if (x < 0 || x >= mapSizeX || y < 0 || y >= mapSizeY) {
+            return false;
+        }
+        
+        int index = x * mapSizeY + y;
+        if (occupied[index] && (lastStep || !allowWalkthrough)) {
+            return false;
+        }
+        
+        byte state = walk[index];
+        return state == RoomMapping.TILE_WALKABLE || (state == RoomMapping.TILE_WALKABLE_LASTSTEP && lastStep);
+    }
+    
+    /**
+     * Gets the furniture-only walk state of a tile (RoomMapping.TILE_* values), ignoring users.
+     */
+    public byte getWalkState(int x, int y) {
+        return walk[x * mapSizeY + y];
+    }
+    
+    /**
+     * Gets the height pathfinding compares: floor, top stack and walkable item height.
+     */
+    public double getHeight(int x, int y) {
+        return heights[x * mapSizeY + y];
+    }
+    
+    /**
+     * Gets the flow field cache version at the time of the snapshot; fields built from this
+     * snapshot are only cached while the matrix is still at this version.
+     */
+    public int getVersion() {
+        return version;
+    }
+    
+    public int getMapSizeX() {
+        return mapSizeX;
+    }
+    
+    public int getMapSizeY() {
+        return mapSizeY;
+    }
+}
@@ -0,0 +1,144 @@
+package com.uber.server.game.rooms.services;
+
+import com.uber.server.game.GameClient;
+import com.uber.server.game.rooms.Room;
+import com.uber.server.messages.ServerMessage;
+import com.uber.server.messages.trace.PacketTracer;
+import com.uber.server.net.OutboundBackpressure;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.ChannelMatcher;
+import io.netty.channel.group.ChannelMatchers;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Service for broadcasting messages to everyone in a room.
+ * Keeps a Netty ChannelGroup of the room's (non-spectator) users so a message is
+ * encoded once into a shared frame and written to every member as a retained duplicate.
+ * Droppable messages (see {@link OutboundBackpressure}) are not written to congested members.
+ */
+public class RoomBroadcastService {
+    private static final Logger logger = LoggerFactory.getLogger(RoomBroadcastService.class);
+    
+    private final Room room;
+    private final ChannelGroup channels;
+    private volatile Thread batchThread; // Thread whose broadcasts are written without flushing
+    private boolean flushPending;
+    
+    public RoomBroadcastService(Room room) {
+        this.room = room;
+        this.channels = new DefaultChannelGroup("room-" + room.getRoomId(), GlobalEventExecutor.INSTANCE);
+    }
+    
+    /**
+     * Adds a client's channel to the room broadcast group.
+     * Closed channels are removed from the group automatically.
+     */
+    public void addClient(GameClient client) {
+        Channel channel = getChannel(client);
+        if (channel != null) {
+            channels.add(channel);
+        }
+    }
+    
+    /**
+     * Removes a client's channel from the room broadcast group.
+     */
+    public void removeClient(GameClient client) {
+        Channel channel = getChannel(client);
+        if (channel != null) {
+            channels.remove(channel);
+        }
+    }
+    
+    /**
+     * Encodes a message once and writes it to every channel in the room.
+     * The group writes a retained duplicate per channel and releases the frame afterwards.
+     * Inside a batch on the batching thread the frame is only written; {@link #endBatch()} flushes.
+     */
+    public void sendMessage(ServerMessage message) {
+        if (message == null || channels.isEmpty()) {
+            return;
+        }
+        
+        PacketTracer tracer = PacketTracer.getInstance();
+        if (tracer.isEnabled() && !tracer.traceOutgoing(0, 0, room.getRoomId(), message)
+                && tracer.hasUserFilters()) {
+            // Not recorded for the room as a whole; record it once per traced recipient instead
+            for (com.uber.server.game.rooms.RoomUser user : room.getUsers().values()) {
+                GameClient client = user.isBot() ? null : user.getClient();
+                if (client != null) {
+                    tracer.traceOutgoing(client.getClientId(), user.getHabboId(), room.getRoomId(), message);
+                }
+            }
+        }
+        
+        // Droppable messages skip congested channels instead of growing their outbound buffer
+        ChannelMatcher matcher = OutboundBackpressure.getDroppableMatcher(message.getId());
+        if (matcher == null) {
+            matcher = ChannelMatchers.all();
+        }
+        
+        ByteBuf frame = message.toFrame(PooledByteBufAllocator.DEFAULT);
+        try {
+            if (Thread.currentThread() == batchThread) {
+                channels.write(frame, matcher);
+                flushPending = true;
+            } else {
+                channels.writeAndFlush(frame, matcher);
+            }
+        } catch (Exception e) {
+            logger.error("Error broadcasting message {} to room {}: {}", message.getId(), room.getRoomId(), e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Starts deferring flushes for broadcasts sent from the calling thread (the room tick).
+     * Broadcasts from other threads are still flushed immediately.
+     */
+    public void beginBatch() {
+        flushPending = false;
+        batchThread = Thread.currentThread();
+    }
+    
+    /**
+     * Ends the current batch and flushes every channel once if anything was written.
+     */
+    public void endBatch() {
+        if (batchThread != Thread.currentThread()) {
+            return;
+        }
+        
+        batchThread = null;
+        if (flushPending) {
+            flushPending = false;
+            channels.flush();
+        }
+    }
+    
+    /**
+     * Gets the number of channels in the broadcast group.
+     */
+    public int size() {
+        return channels.size();
+    }
+    
+    /**
+     * Removes every channel from the broadcast group (channels are not closed).
+     */
+    public void clear() {
+        channels.clear();
+    }
+    
+    private Channel getChannel(GameClient client) {
+        if (client == null || client.getConnection() == null) {
+            return null;
+        }
+        return client.getConnection().getChannel();
+    }
+}
@@ -137,7 +137,9 @@ public class RoomItemService {
         // Calculate Z coordinate (simplified - use floor height from model if available)
         double newZ = 0.0; // Default to 0, will be enhanced with model heightmap
         
-        // Store old rotation to check if it changed
+        // Store old position and rotation to check if they changed
+        int oldX = item.getX();
+        int oldY = item.getY();
         int oldRot = item.getRot();
         boolean rotationChanged = (oldRot != newRot);
         
@@ -147,6 +149,11 @@ public class RoomItemService {
         item.setZ(newZ);
         item.setRot(newRot);
         
+        // A moved item is already in the room; update the tiles it left and the ones it covers now
+        if (!newItem && room.getRoomMapping() != null) {
+            room.getRoomMapping().onItemMoved(item, oldX, oldY, oldRot);
+        }
+        
         // If rotation changed and item is a seat or bed, update users sitting on it
         if (rotationChanged && (baseItem.canSit() || "bed".equalsIgnoreCase(baseItem.getInteractionType()))) {
             updateUsersOnItem(item, newX, newY, newRot);
@@ -155,30 +162,39 @@ public class RoomItemService {
         // Call item interactor OnPlace
         item.getInteractor().onPlace(session, item);
         
+        long itemId = item.getId();
+        int savedRot = newRot;
         if (newItem) {
-            // Insert into database
-            if (roomItemRepository.createRoomItem(item.getId(), room.getRoomId(), item.getBaseItemId(), 
-                                                  item.getExtraData(), newX, newY, newZ, newRot, "")) {
-                items.put(item.getId(), item);
-                
-                // Send item to room
-                ServerMessage message = new ServerMessage(93);
-                item.serialize(message);
-                room.sendMessage(message);
-                return true;
+            items.put(itemId, item);
+            if (room.getRoomMapping() != null) {
+                room.getRoomMapping().onItemAdded(item);
             }
+            
+            // Insert into database
+            long roomId = room.getRoomId();
+            long baseItemId = item.getBaseItemId();
+            String extraData = item.getExtraData();
+            persist(itemId, repo -> {
+                if (!repo.createRoomItem(itemId, roomId, baseItemId, extraData, newX, newY, newZ, savedRot, "")) {
+                    logger.error("Failed to save placed item {} in room {}", itemId, roomId);
+                }
+            });
+            
+            // Send item to room
+            ServerMessage message = new ServerMessage(93);
+            item.serialize(message);
+            room.sendMessage(message);
         } else {
             // Update in database
-            if (roomItemRepository.updatePosition(item.getId(), newX, newY, newZ, newRot)) {
-                // Send update to room
-                ServerMessage message = new ServerMessage(95);
-                item.serialize(message);
-                room.sendMessage(message);
-                return true;
-            }
+            persist(itemId, repo -> repo.updatePosition(itemId, newX, newY, newZ, savedRot));
+            
+            // Send update to room
+            ServerMessage message = new ServerMessage(95);
+            item.serialize(message);
+            room.sendMessage(message);
         }
         
-        return false;
+        return true;
     }
     
     /**
@@ -210,19 +226,25 @@ public class RoomItemService {
             }
         }
         
+        items.put(item.getId(), item);
+        
         // Insert into database
-        if (roomItemRepository.createRoomItem(item.getId(), room.getRoomId(), item.getBaseItemId(),
-                                              item.getExtraData(), 0, 0, 0.0, 0, item.getWallPos())) {
-            items.put(item.getId(), item);
-            
-            // Send item to room
-            ServerMessage message = new ServerMessage(83);
-            item.serialize(message);
-            room.sendMessage(message);
-            return true;
-        }
+        long itemId = item.getId();
+        long roomId = room.getRoomId();
+        long baseItemId = item.getBaseItemId();
+        String extraData = item.getExtraData();
+        String wallPos = item.getWallPos();
+        persist(itemId, repo -> {
+            if (!repo.createRoomItem(itemId, roomId, baseItemId, extraData, 0, 0, 0.0, 0, wallPos)) {
+                logger.error("Failed to save placed item {} in room {}", itemId, roomId);
+            }
+        });
         
-        return false;
+        // Send item to room
+        ServerMessage message = new ServerMessage(83);
+        item.serialize(message);
+        room.sendMessage(message);
+        return true;
     }
     
     /**
@@ -254,7 +276,23 @@ public class RoomItemService {
         
         // Remove from room and database
         items.remove(itemId);
-        roomItemRepository.deleteRoomItem(itemId);
+        if (item.isFloorItem() && room.getRoomMapping() != null) {
+            room.getRoomMapping().onItemRemoved(item);
+        }
+        persist(itemId, repo -> repo.deleteRoomItem(itemId));
+    }
+    
+    /**
+     * Writes an item's row on the database executor, after any earlier write to the same item,
+     * so placing, moving and removing furniture never waits for MySQL on the tick thread.
+     */
+    private void persist(long itemId, java.util.function.Consumer<RoomItemRepository> write) {
+        com.uber.server.game.Game game = room.getGame();
+        if (game != null && game.getRoomItemRepositoryAsync() != null) {
+            game.getRoomItemRepositoryAsync().runOrdered(itemId, write);
+        } else {
+            write.accept(roomItemRepository);
+        }
     }
     
     /**
@@ -300,21 +338,12 @@ public class RoomItemService {
             }
         }
         
-        // Get user matrix from room mapping
-        boolean[][] userMatrix = mapping.getUserMatrix();
-        if (userMatrix == null || userMatrix.length == 0) {
-            return;
-        }
-        
-        int matrixSizeY = userMatrix[0] != null ? userMatrix[0].length : 0;
-        
-        // For each item position, check if there's a user there using the matrix
+        // For each item position, check if there's a user there using the user matrix
         for (Coord itemPos : itemPositions) {
             int x = itemPos.getX();
             int y = itemPos.getY();
             
-            // Check bounds and if user matrix indicates a user at this position
-            if (x >= 0 && x < userMatrix.length && y >= 0 && y < matrixSizeY && userMatrix[x][y]) {
+            if (mapping.hasUserAt(x, y)) {
                 // Find the user at this position
                 for (com.uber.server.game.rooms.RoomUser user : room.getUsers().values()) {
                     if (user.getX() == x && user.getY() == y) {
@@ -0,0 +1,189 @@
+package com.uber.server.game.rooms.services;
+
+import com.uber.server.game.pathfinding.Coord;
+import com.uber.server.game.pathfinding.Pathfinder;
+import com.uber.server.game.rooms.Room;
+import com.uber.server.game.rooms.RoomUser;
+import com.uber.server.game.rooms.mapping.RoomMapping;
+import com.uber.server.game.rooms.mapping.WalkSnapshot;
+import com.uber.server.game.threading.GameThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Computes walk paths for one room on the shared path executor instead of inside the tick.
+ * Requests are collected during a tick and dispatched at its end against one
+ * {@link WalkSnapshot}; finished paths are picked up at the start of the next tick, so the
+ * user starts walking one tick after the path is ready. At most {@link #MAX_IN_FLIGHT}
+ * searches per room run at once, the rest wait (one per user) for the following ticks.
+ * A newer request for the same user supersedes the older one, whether it is still waiting or
+ * already running. All methods except the worker task run on the room's tick thread.
+ */
+public class RoomPathService {
+    private static final Logger logger = LoggerFactory.getLogger(RoomPathService.class);
+    
+    private static final int MAX_IN_FLIGHT = 4;
+    
+    private final Room room;
+    private final Map<RoomUser, PathRequest> pending = new LinkedHashMap<>();
+    private final Queue<PathRequest> completed = new ConcurrentLinkedQueue<>();
+    private int inFlight;
+    
+    public RoomPathService(Room room) {
+        this.room = room;
+    }
+    
+    /**
+     * Requests a path for a user. The user keeps following their current path until the new
+     * one is applied.
+     * @param user Room user
+     * @param goalX Goal X
+     * @param goalY Goal Y
+     */
+    public void request(RoomUser user, int goalX, int goalY) {
+        pending.put(user, new PathRequest(user, user.nextPathRequestId(), goalX, goalY));
+    }
+    
+    /**
+     * Applies paths that finished since the last tick.
+     * @return True if any user got a new path
+     */
+    public boolean applyCompleted() {
+        boolean applied = false;
+        PathRequest request;
+        while ((request = completed.poll()) != null) {
+            inFlight--;
+            RoomUser user = request.user;
+            if (request.id != user.getPathRequestId() || room.getRoomUserByVirtualId(user.getVirtualId()) != user) {
+                continue; // Superseded, movement cleared, or user left
+            }
+            
+            // The search started where the user would be after their pending step; if they have
+            // walked on since (the pool was busy), search again from where they are now
+            List<Coord> result = request.path;
+            if (result != null && result.size() > 1) {
+                Coord start = result.get(result.size() - 1);
+                if (start.getX() != nextX(user) || start.getY() != nextY(user)) {
+                    request(user, request.goalX, request.goalY);
+                    continue;
+                }
+            }
+            
+            user.setGoalX(request.goalX);
+            user.setGoalY(request.goalY);
+            
+            List<Coord> path = user.getPath();
+            path.clear();
+            if (result != null) {
+                path.addAll(result);
+            }
+            
+            if (path.size() > 1) {
+                user.setPathStep(1);
+                user.setWalking(true);
+            } else {
+                path.clear();
+            }
+            applied = true;
+        }
+        return applied;
+    }
+    
+    /**
+     * Sends waiting requests to the path executor, up to the room's in-flight limit.
+     */
+    public void dispatch() {
+        if (pending.isEmpty() || inFlight >= MAX_IN_FLIGHT) {
+            return;
+        }
+        
+        RoomMapping mapping = room.getRoomMapping();
+        if (mapping == null) {
+            pending.clear();
+            return;
+        }
+        WalkSnapshot snapshot = mapping.createSnapshot();
+        
+        PathRequest rejected = null;
+        Iterator<PathRequest> iterator = pending.values().iterator();
+        while (iterator.hasNext() && inFlight < MAX_IN_FLIGHT) {
+            PathRequest request = iterator.next();
+            iterator.remove();
+            
+            RoomUser user = request.user;
+            Pathfinder pathfinder = new Pathfinder(snapshot, mapping.getFlowFieldCache(), nextX(user), nextY(user),
+                request.goalX, request.goalY, user.isAllowOverride());
+            try {
+                GameThreadPool.getInstance().getPathExecutor().execute(() -> compute(request, pathfinder));
+                inFlight++;
+            } catch (RejectedExecutionException | IllegalStateException e) {
+                logger.debug("Path request for user {} in room {} rejected, retrying next tick: {}",
+                    user.getVirtualId(), room.getRoomId(), e.getMessage());
+                rejected = request;
+                break;
+            }
+        }
+        
+        // Keep the rejected request (unless the user asked for a new path meanwhile) so the user
+        // still moves once the executor accepts work again
+        if (rejected != null) {
+            pending.putIfAbsent(rejected.user, rejected);
+        }
+    }
+    
+    /**
+     * Checks if any path is waiting to be dispatched, computed or applied.
+     * @return True if there is outstanding work
+     */
+    public boolean hasWork() {
+        return !pending.isEmpty() || inFlight > 0;
+    }
+    
+    private void compute(PathRequest request, Pathfinder pathfinder) {
+        try {
+            // Skip the search if a newer request has already replaced this one
+            if (request.id == request.user.getPathRequestId()) {
+                request.path = pathfinder.findPath();
+            }
+        } catch (Exception e) {
+            logger.error("Error computing path in room {}: {}", room.getRoomId(), e.getMessage(), e);
+        } finally {
+            completed.offer(request);
+            room.wakeProcessRoutine();
+        }
+    }
+    
+    /**
+     * The tile a user walks from next: the target of a pending step, or where they stand.
+     */
+    private static int nextX(RoomUser user) {
+        return user.isSetStep() ? user.getSetX() : user.getX();
+    }
+    
+    private static int nextY(RoomUser user) {
+        return user.isSetStep() ? user.getSetY() : user.getY();
+    }
+    
+    private static final class PathRequest {
+        final RoomUser user;
+        final int id;
+        final int goalX;
+        final int goalY;
+        volatile List<Coord> path;
+        
+        PathRequest(RoomUser user, int id, int goalX, int goalY) {
+            this.user = user;
+            this.id = id;
+            this.goalX = goalX;
+            this.goalY = goalY;
+        }
+    }
+}
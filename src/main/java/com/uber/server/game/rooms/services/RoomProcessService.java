@@ -2,12 +2,14 @@ package com.uber.server.game.rooms.services;
 
 import com.uber.server.game.items.RoomItem;
 import com.uber.server.game.pathfinding.Coord;
-import com.uber.server.game.pathfinding.Pathfinder;
 import com.uber.server.game.pathfinding.Rotation;
 import com.uber.server.game.rooms.Room;
 import com.uber.server.game.rooms.RoomModel;
+import com.uber.server.game.rooms.RoomTickPhase;
+import com.uber.server.game.rooms.RoomTickProfile;
 import com.uber.server.game.rooms.RoomUser;
 import com.uber.server.game.threading.GameThreadPool;
+import com.uber.server.game.threading.RoomTickEngine;
 import com.uber.server.messages.ServerMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,14 +17,17 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Service for managing room processing routine.
- * Handles periodic room updates (every 500ms).
+ * Handles periodic room updates (every 500ms) on the room's tick shard. A room where nothing
+ * moves, no item waits for an update and there are no rollers or bots hibernates: it only
+ * ticks every {@link #HIBERNATE_TICK_CYCLES} cycles until {@link #wake()} is called.
+ * Packet handlers do not mutate room state directly; they {@link #submit} commands that the
+ * shard runs at the start of the next tick, so users, items and the mapping have one writer.
  */
 public class RoomProcessService {
     private static final Logger logger = LoggerFactory.getLogger(RoomProcessService.class);
@@ -30,73 +35,201 @@ public class RoomProcessService {
     private final Room room;
     private final ConcurrentHashMap<Long, RoomItem> items;
     private final ConcurrentHashMap<Long, RoomUser> users;
+    private final RoomBroadcastService broadcastService;
     private final boolean[] keepAliveRef; // Use array to allow modification
     private final int[] idleTimeRef; // Use array to allow modification
     
-    private ScheduledFuture<?> processTask;
+    private final RoomTickProfile tickProfile = new RoomTickProfile();
+    private final RoomPathService pathService;
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final long[] phaseNanos = new long[RoomTickPhase.values().length]; // Current tick, shard thread only
+    
+    private static final int HIBERNATE_AFTER_TICKS = 4; // Quiet full-rate ticks before slowing down
+    private static final int HIBERNATE_TICK_CYCLES = 10; // One slow tick per 5 seconds
+    
+    private volatile boolean wakeRequested;
+    private volatile boolean hibernating;
+    private int quietTicks; // Shard thread only
+    private int cyclesSinceTick; // Shard thread only
+    private boolean active; // Set by the current tick, shard thread only
+    
+    private RoomTickEngine.Registration processTask;
     
     public RoomProcessService(Room room, ConcurrentHashMap<Long, RoomItem> items,
                              ConcurrentHashMap<Long, RoomUser> users,
+                             RoomBroadcastService broadcastService,
                              boolean[] keepAliveRef, int[] idleTimeRef) {
         this.room = room;
         this.items = items;
         this.users = users;
+        this.broadcastService = broadcastService;
         this.keepAliveRef = keepAliveRef;
         this.idleTimeRef = idleTimeRef;
+        this.pathService = new RoomPathService(room);
     }
     
     /**
      * Starts the room processing routine.
-     * Uses shared thread pool from GameThreadPool.
+     * The room is pinned to one shard of the RoomTickEngine, so its ticks never overlap.
      */
-    public void startProcessRoutine() {
+    public synchronized void startProcessRoutine() {
         if (processTask != null && !processTask.isCancelled()) {
             return; // Already running
         }
         
-        // Use shared thread pool instead of per-room executor
-        ScheduledExecutorService executor = GameThreadPool.getInstance().getGameExecutor();
-        
-        // Process every 500ms
-        processTask = executor.scheduleAtFixedRate(this::processRoom, 500, 500, TimeUnit.MILLISECONDS);
+        processTask = GameThreadPool.getInstance().getRoomTickEngine().register(room.getRoomId(), this::processRoom);
     }
     
     /**
      * Stops the room processing routine.
-     * Note: We don't shut down the shared executor here, only cancel our task.
+     * A tick already in progress on the shard is allowed to finish.
      */
-    public void stopProcessRoutine() {
+    public synchronized void stopProcessRoutine() {
         if (processTask != null) {
-            processTask.cancel(false);
+            processTask.cancel();
             processTask = null;
         }
+        
+        // Nothing will tick this room any more; don't lose what handlers already submitted
+        runCommands();
+    }
+    
+    /**
+     * Queues a room-affecting action to run on the room's tick shard at the start of the
+     * next tick, and wakes the room so that happens within one cycle.
+     * Runs the command immediately if the room is not being processed.
+     * @param command Action to run
+     */
+    public void submit(Runnable command) {
+        boolean running;
+        synchronized (this) {
+            running = processTask != null;
+            if (running) {
+                commands.offer(command);
+            }
+        }
+        
+        if (running) {
+            wake();
+        } else {
+            runCommand(command);
+        }
+    }
+    
+    /**
+     * Brings the room back to full tick rate. Called by anything that needs the next tick
+     * on time: movement requests, item updates, status changes, users or bots entering.
+     */
+    public void wake() {
+        wakeRequested = true;
+    }
+    
+    /**
+     * Checks if the room is ticking at the slow hibernation rate.
+     * @return True if hibernating
+     */
+    public boolean isHibernating() {
+        return hibernating;
+    }
+    
+    /**
+     * Gets the tick duration profile of this room.
+     * @return RoomTickProfile instance
+     */
+    public RoomTickProfile getTickProfile() {
+        return tickProfile;
     }
     
     /**
      * Processes the room (called every 500ms).
+     * Broadcasts made during the tick are written without flushing and flushed once per
+     * client when the tick ends.
      */
     private void processRoom() {
         if (!keepAliveRef[0]) {
             return; // Don't process if room should be dead
         }
         
+        cyclesSinceTick++;
+        if (hibernating && !wakeRequested && cyclesSinceTick < HIBERNATE_TICK_CYCLES) {
+            return;
+        }
+        wakeRequested = false;
+        int cycles = cyclesSinceTick;
+        cyclesSinceTick = 0;
+        
+        long start = System.nanoTime();
+        tickProfile.beginTick(start, cycles);
+        java.util.Arrays.fill(phaseNanos, 0);
+        active = false;
+        
+        broadcastService.beginBatch();
+        try {
+            runCommands();
+            phaseNanos[RoomTickPhase.COMMANDS.ordinal()] = System.nanoTime() - start;
+            tick(cycles);
+        } finally {
+            broadcastService.endBatch();
+        }
+        
+        if (active) {
+            quietTicks = 0;
+            hibernating = false;
+        } else if (++quietTicks >= HIBERNATE_AFTER_TICKS) {
+            hibernating = true;
+        }
+        
+        long elapsed = System.nanoTime() - start;
+        for (RoomTickPhase phase : RoomTickPhase.values()) {
+            tickProfile.record(phase, phaseNanos[phase.ordinal()]);
+        }
+        if (tickProfile.endTick(elapsed)) {
+            StringBuilder phases = new StringBuilder();
+            for (RoomTickPhase phase : RoomTickPhase.values()) {
+                phases.append(' ').append(phase.getLabel()).append('=')
+                    .append(phaseNanos[phase.ordinal()] / 1_000_000).append("ms");
+            }
+            logger.warn("Room {} tick overran: {}ms (budget {}ms),{}", room.getRoomId(),
+                elapsed / 1_000_000, RoomTickEngine.TICK_INTERVAL_MS, phases);
+        }
+    }
+    
+    /**
+     * Runs a single room tick, filling in the time spent per phase and whether anything in
+     * the room still needs full-rate ticks.
+     * @param cycles Tick cycles since the previous tick (more than 1 while hibernating)
+     */
+    private void tick(int cycles) {
+        long phaseStart = System.nanoTime();
+        
         // Process item updates
         for (RoomItem item : items.values()) {
             if (item.isUpdateNeeded()) {
                 item.processUpdates();
+                active = true;
             }
         }
+        phaseStart = endPhase(RoomTickPhase.ITEMS, phaseStart);
         
         // Process rollers - move items and users on top of them
-        processRollers();
+        if (processRollers()) {
+            active = true;
+        }
+        phaseStart = endPhase(RoomTickPhase.ROLLERS, phaseStart);
+        
+        // Paths finished on the path executor since the last tick start walking now
+        if (pathService.applyCompleted()) {
+            active = true;
+        }
+        phaseNanos[RoomTickPhase.PATHFINDING.ordinal()] += System.nanoTime() - phaseStart;
         
         // Process users and bots
         List<Long> toRemove = new ArrayList<>();
         int userCount = 0;
         
         for (RoomUser user : users.values()) {
-            // Increment idle time
-            user.incrementIdleTime();
+            // Increment idle time (a slow tick stands in for several)
+            user.incrementIdleTime(cycles);
             
             // Check if user should fall asleep (idle for 600 ticks = 300 seconds)
             if (!user.isAsleep() && user.getIdleTime() >= 600) {
@@ -106,14 +239,6 @@ public class RoomProcessService {
                 room.sendMessage(sleepComposer.compose());
             }
             
-            // Handle carry item timer
-            if (user.getCarryItemId() > 0) {
-                user.decrementCarryTimer();
-                if (user.getCarryTimer() <= 0) {
-                    user.carryItem(0);
-                }
-            }
-            
             boolean invalidSetStep = false;
             
             // Handle SetStep (immediate position change)
@@ -143,31 +268,11 @@ public class RoomProcessService {
             }
             
             // Handle path recalculation
+            // The search runs off-tick (see RoomPathService); the user keeps following their
+            // current path until the new one is applied
             if (user.isPathRecalcNeeded()) {
-                Pathfinder pathfinder = new Pathfinder(room, user);
-                
-                user.setGoalX(user.getPathRecalcX());
-                user.setGoalY(user.getPathRecalcY());
-                
-                List<Coord> calculatedPath = user.getPath();
-                if (calculatedPath != null) {
-                    calculatedPath.clear();
-                }
-                List<Coord> path = pathfinder.findPath();
-                if (path != null && calculatedPath != null) {
-                    calculatedPath.addAll(path);
-                }
-                
-                if (calculatedPath != null && calculatedPath.size() > 1) {
-                    user.setPathStep(1);
-                    user.setWalking(true);
-                    user.setPathRecalcNeeded(false);
-                } else {
-                    user.setPathRecalcNeeded(false);
-                    if (calculatedPath != null) {
-                        calculatedPath.clear();
-                    }
-                }
+                pathService.request(user, user.getPathRecalcX(), user.getPathRecalcY());
+                user.setPathRecalcNeeded(false);
             }
             
             // Handle walking along path
@@ -252,9 +357,8 @@ public class RoomProcessService {
                             RoomModel model = room.getModel();
                             if (model != null && nextX >= 0 && nextX < model.getMapSizeX() && 
                                 nextY >= 0 && nextY < model.getMapSizeY()) {
-                                Coord bedCoord = room.getRoomMapping().getBedMatrix()[nextX][nextY];
-                                user.setSetX(bedCoord.getX());
-                                user.setSetY(bedCoord.getY());
+                                user.setSetX(room.getRoomMapping().getBedX(nextX, nextY));
+                                user.setSetY(room.getRoomMapping().getBedY(nextX, nextY));
                             } else {
                                 user.setSetX(nextX);
                                 user.setSetY(nextY);
@@ -281,12 +385,27 @@ public class RoomProcessService {
             
             // Process bot AI ticks
             if (user.isBot() && user.getBotAI() != null) {
+                long botStart = System.nanoTime();
                 user.getBotAI().onTimerTick();
+                phaseNanos[RoomTickPhase.BOT_AI.ordinal()] += System.nanoTime() - botStart;
             } else {
                 userCount++; // Count non-bot users
             }
+            
+            if (user.isWalking() || user.isSetStep() || user.isPathRecalcNeeded()
+                    || (user.isBot() && user.getBotAI() != null)) {
+                active = true;
+            }
         }
         
+        // Hand this tick's path requests to the path executor against one snapshot
+        long dispatchStart = System.nanoTime();
+        pathService.dispatch();
+        if (pathService.hasWork()) {
+            active = true;
+        }
+        phaseNanos[RoomTickPhase.PATHFINDING.ordinal()] += System.nanoTime() - dispatchStart;
+        
         // Remove users that need to be removed
         for (Long habboId : toRemove) {
             com.uber.server.game.GameClient client = room.getGame().getClientManager().getClientByHabbo(habboId);
@@ -295,17 +414,23 @@ public class RoomProcessService {
             }
         }
         
+        // Path and bot time was measured inside the user loop; movement is the remainder
+        phaseStart = endPhase(RoomTickPhase.MOVEMENT, phaseStart);
+        phaseNanos[RoomTickPhase.MOVEMENT.ordinal()] -= phaseNanos[RoomTickPhase.PATHFINDING.ordinal()]
+            + phaseNanos[RoomTickPhase.BOT_AI.ordinal()];
+        
         // Serialize and send status updates for users that need updating
         ServerMessage statusUpdates = room.serializeStatusUpdates(false);
         if (statusUpdates != null) {
             room.sendMessage(statusUpdates);
         }
+        endPhase(RoomTickPhase.STATUS, phaseStart);
         
         // Update room idle time
         if (userCount >= 1) {
             idleTimeRef[0] = 0;
         } else {
-            idleTimeRef[0]++;
+            idleTimeRef[0] += cycles;
         }
         
         // Update Room's idleTime field
@@ -320,21 +445,48 @@ public class RoomProcessService {
         }
     }
     
+    /**
+     * Runs every queued command, including ones submitted while draining.
+     */
+    private void runCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            runCommand(command);
+        }
+    }
+    
+    private void runCommand(Runnable command) {
+        try {
+            command.run();
+        } catch (Exception e) {
+            logger.error("Error running command in room {}: {}", room.getRoomId(), e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Adds the time since {@code phaseStart} to a phase of the current tick.
+     * @return Start time of the next phase
+     */
+    private long endPhase(RoomTickPhase phase, long phaseStart) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - phaseStart;
+        return now;
+    }
+    
     /**
      * Processes rollers in the room.
      * Rollers move items and users on top of them in the direction they face.
      * This matches Habbo Release 49 behavior.
+     * @return True if the room has any rollers
      */
-    private void processRollers() {
-        List<RoomItem> rollers = new ArrayList<>();
-        
-        // Find all rollers in the room
-        for (RoomItem item : items.values()) {
-            if (isRoller(item)) {
-                rollers.add(item);
-            }
+    private boolean processRollers() {
+        if (room.getRoomMapping() == null) {
+            return false;
         }
         
+        // Kept up to date by the mapping's item hooks, so rooms without rollers skip this at once
+        java.util.Collection<RoomItem> rollers = room.getRoomMapping().getRollers();
+        
         // Process each roller
         for (RoomItem roller : rollers) {
             int rollerX = roller.getX();
@@ -396,14 +548,21 @@ public class RoomProcessService {
                     }
                     
                     // Move the item
+                    int oldItemX = itemOnRoller.getX();
+                    int oldItemY = itemOnRoller.getY();
                     itemOnRoller.setX(nextX);
                     itemOnRoller.setY(nextY);
                     itemOnRoller.setZ(newZ);
                     
-                    // Update item position in database and send update to room
-                    if (room.getGame() != null && room.getGame().getRoomItemRepository() != null) {
-                        room.getGame().getRoomItemRepository().updatePosition(
-                            itemOnRoller.getId(), nextX, nextY, newZ, itemOnRoller.getRot());
+                    // Update item position in database (off the tick thread) and send update to room
+                    if (room.getGame() != null && room.getGame().getRoomItemRepositoryAsync() != null) {
+                        long movedId = itemOnRoller.getId();
+                        int movedX = nextX;
+                        int movedY = nextY;
+                        double movedZ = newZ;
+                        int movedRot = itemOnRoller.getRot();
+                        room.getGame().getRoomItemRepositoryAsync().runOrdered(movedId,
+                            repo -> repo.updatePosition(movedId, movedX, movedY, movedZ, movedRot));
                     }
                     
                     // Send update message to room
@@ -411,9 +570,9 @@ public class RoomProcessService {
                     itemOnRoller.serialize(message);
                     room.sendMessage(message);
                     
-                    // Regenerate collision matrix after moving item
+                    // Update the collision matrix under the old and new position
                     if (room.getRoomMapping() != null) {
-                        room.getRoomMapping().regenerateMatrix();
+                        room.getRoomMapping().onItemMoved(itemOnRoller, oldItemX, oldItemY, itemOnRoller.getRot());
                     }
                 }
             }
@@ -465,66 +624,15 @@ public class RoomProcessService {
                 }
             }
         }
-    }
-    
-    /**
-     * Checks if an item is a roller.
-     * Rollers are identified by their item name containing "roller".
-     */
-    private boolean isRoller(RoomItem item) {
-        if (item == null || !item.isFloorItem()) {
-            return false;
-        }
-        
-        com.uber.server.game.items.Item baseItem = item.getBaseItem();
-        if (baseItem == null) {
-            return false;
-        }
-        
-        String itemName = baseItem.getItemName();
-        if (itemName == null) {
-            return false;
-        }
         
-        // Check if item name contains "roller" (case-insensitive)
-        return itemName.toLowerCase().contains("roller");
+        return !rollers.isEmpty();
     }
     
     /**
-     * Gets all items at a specific position.
+     * Gets all items at a specific position, bottom to top (a copy, safe to move items from).
      */
     private List<RoomItem> getItemsAtPosition(int x, int y) {
-        List<RoomItem> itemsAtPos = new ArrayList<>();
-        
-        for (RoomItem item : items.values()) {
-            if (!item.isFloorItem()) {
-                continue;
-            }
-            
-            // Check if item is at this position
-            if (item.getX() == x && item.getY() == y) {
-                itemsAtPos.add(item);
-            } else {
-                // Check if item occupies this position (multi-tile items)
-                com.uber.server.game.items.Item baseItem = item.getBaseItem();
-                if (baseItem != null) {
-                    com.uber.server.game.rooms.mapping.RoomMapping mapping = room.getRoomMapping();
-                    if (mapping != null) {
-                        java.util.Map<Integer, com.uber.server.game.rooms.mapping.AffectedTile> affectedTiles = 
-                            mapping.getAffectedTiles(baseItem.getLength(), baseItem.getWidth(), 
-                                                    item.getX(), item.getY(), item.getRot());
-                        for (com.uber.server.game.rooms.mapping.AffectedTile tile : affectedTiles.values()) {
-                            if (tile.getX() == x && tile.getY() == y) {
-                                itemsAtPos.add(item);
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        
-        return itemsAtPos;
+        return room.getFurniObjects(x, y);
     }
     
     /**
@@ -551,7 +659,7 @@ public class RoomProcessService {
         }
         
         // Check if there's already an item at this position that blocks placement
-        List<RoomItem> itemsAtPos = getItemsAtPosition(x, y);
+        List<RoomItem> itemsAtPos = room.getFurniObjects(x, y);
         for (RoomItem existingItem : itemsAtPos) {
             // Allow stacking if both items can stack
             com.uber.server.game.items.Item baseItem = item.getBaseItem();
@@ -23,13 +23,16 @@ public class RoomUserService {
     private final Room room;
     private final ConcurrentHashMap<Long, RoomUser> users;
     private final RoomRightsService rightsService;
+    private final RoomBroadcastService broadcastService;
     private int userCounter;
     
     public RoomUserService(Room room, ConcurrentHashMap<Long, RoomUser> users, 
-                          RoomRightsService rightsService, int initialUserCounter) {
+                          RoomRightsService rightsService, RoomBroadcastService broadcastService,
+                          int initialUserCounter) {
         this.room = room;
         this.users = users;
         this.rightsService = rightsService;
+        this.broadcastService = broadcastService;
         this.userCounter = initialUserCounter;
     }
     
@@ -85,6 +88,11 @@ public class RoomUserService {
         
         users.put(habbo.getId(), user);
         
+        // Join the room broadcast group (spectators don't receive room broadcasts)
+        if (!spectator) {
+            broadcastService.addClient(session);
+        }
+        
         // Update Habbo's current room
         habbo.setCurrentRoomId(room.getRoomId());
         
@@ -111,6 +119,8 @@ public class RoomUserService {
             return;
         }
         
+        broadcastService.removeClient(session);
+        
         if (notifyClient) {
             if (notifyKick) {
                 var kickComposer = new com.uber.server.messages.outgoing.global.GenericErrorComposer(4008);
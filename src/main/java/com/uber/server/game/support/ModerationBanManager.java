@@ -2,6 +2,7 @@ package com.uber.server.game.support;
 
 import com.uber.server.game.Game;
 import com.uber.server.game.GameClient;
+import com.uber.server.game.threading.GameThreadPool;
 import com.uber.server.repository.ModerationBanRepository;
 import com.uber.server.repository.UserInfoRepository;
 import com.uber.server.util.TimeUtil;
@@ -55,7 +56,11 @@ public class ModerationBanManager {
                 long expire = ((Number) row.get("expire")).longValue();
                 
                 ModerationBan ban = new ModerationBan(type, value, reason, expire);
+                if (ban.isExpired()) {
+                    continue;
+                }
                 bans.add(ban);
+                scheduleExpiry(ban);
             } catch (Exception e) {
                 logger.error("Failed to load ban: {}", e.getMessage(), e);
             }
@@ -158,6 +163,7 @@ public class ModerationBanManager {
         // Create ban object
         ModerationBan ban = new ModerationBan(type, var, reason, expire);
         bans.add(ban);
+        scheduleExpiry(ban);
         
         // Get moderator user ID
         long moderatorId = 0;
@@ -191,4 +197,16 @@ public class ModerationBanManager {
         client.sendNotif("You have been banned: " + reason);
         client.disconnect();
     }
+    
+    /**
+     * Drops a ban from the active list when it expires, so login checks only see live bans.
+     * @param ban Ban to expire
+     */
+    private void scheduleExpiry(ModerationBan ban) {
+        GameThreadPool.getInstance().getGameTimer().scheduleAt(ban.getExpire(), () -> {
+            if (bans.remove(ban)) {
+                logger.debug("Ban on {} expired", ban.getVariable());
+            }
+        });
+    }
 }
@@ -0,0 +1,126 @@
+package com.uber.server.game.threading;
+
+import com.uber.server.messages.ClientMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Per-client mailbox for incoming messages.
+ * The Netty I/O thread only enqueues; messages are handled one at a time, in arrival order,
+ * by a single drain task on the client executor. At most one drain runs per client, so
+ * handlers for one client never overlap, while different clients are handled in parallel.
+ */
+public class ClientMessageQueue {
+    private static final Logger logger = LoggerFactory.getLogger(ClientMessageQueue.class);
+    private static final int MAX_PENDING_MESSAGES = 512; // Messages hold inbound buffer slices
+    
+    private final long clientId;
+    private final Executor executor;
+    private final Consumer<ClientMessage> handler;
+    private final Queue<ClientMessage> messages;
+    private final AtomicInteger pending;
+    private final AtomicBoolean draining;
+    private volatile boolean closed;
+    
+    public ClientMessageQueue(long clientId, Executor executor, Consumer<ClientMessage> handler) {
+        this.clientId = clientId;
+        this.executor = executor;
+        this.handler = handler;
+        this.messages = new ConcurrentLinkedQueue<>();
+        this.pending = new AtomicInteger(0);
+        this.draining = new AtomicBoolean(false);
+    }
+    
+    /**
+     * Queues a message for handling. Takes ownership of the message.
+     * @param message Message to handle
+     * @return False if the queue is closed or full (the message is released)
+     */
+    public boolean enqueue(ClientMessage message) {
+        if (closed || pending.get() >= MAX_PENDING_MESSAGES) {
+            message.release();
+            return false;
+        }
+        
+        pending.incrementAndGet();
+        messages.offer(message);
+        
+        if (closed) {
+            // Raced with close(); make sure nothing is left holding a buffer
+            releasePending();
+            return false;
+        }
+        
+        scheduleDrain();
+        return true;
+    }
+    
+    /**
+     * Closes the queue and releases any messages that were not handled yet.
+     */
+    public void close() {
+        closed = true;
+        releasePending();
+    }
+    
+    /**
+     * Gets the number of messages waiting to be handled.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+    
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return; // A drain is already running and will pick the message up
+        }
+        
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            logger.debug("Client executor rejected drain for client {} (shutting down)", clientId);
+            close();
+        }
+    }
+    
+    private void drain() {
+        try {
+            ClientMessage message;
+            while (!closed && (message = messages.poll()) != null) {
+                pending.decrementAndGet();
+                try {
+                    handler.accept(message);
+                } catch (Exception e) {
+                    logger.error("Error handling message {} from client {}: {}", message.getId(), clientId, e.getMessage(), e);
+                } finally {
+                    // The body is a slice of the inbound buffer
+                    message.release();
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+        
+        // A message may have arrived after the last poll but before the flag was cleared
+        if (!closed && !messages.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+    
+    private void releasePending() {
+        ClientMessage message;
+        while ((message = messages.poll()) != null) {
+            pending.decrementAndGet();
+            message.release();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.uber.server.game.threading;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -12,7 +13,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 /**
  * Centralized thread pool manager for game and room processing.
  * Provides shared thread pools to avoid creating too many threads.
- * Networking remains on Netty's event loop threads (separate).
+ * Networking remains on Netty's event loop threads (separate); packet handlers run on
+ * virtual threads from the client executor so blocking database calls never stall I/O.
  */
 public class GameThreadPool {
     private static final Logger logger = LoggerFactory.getLogger(GameThreadPool.class);
@@ -20,6 +22,10 @@ public class GameThreadPool {
     private static GameThreadPool instance;
     
     private ScheduledExecutorService gameExecutor;
+    private ExecutorService clientExecutor;
+    private ExecutorService pathExecutor;
+    private RoomTickEngine roomTickEngine;
+    private GameTimer gameTimer;
     private final AtomicInteger threadNumber = new AtomicInteger(1);
     private volatile boolean shutdown = false;
     
@@ -37,6 +43,25 @@ public class GameThreadPool {
             }
         });
         
+        // One virtual thread per client mailbox drain; blocking JDBC unmounts instead of holding a carrier
+        clientExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("GameClient-", 1).factory());
+        
+        // Room ticks run on their own shard threads, not on the game executor
+        roomTickEngine = new RoomTickEngine(RoomTickEngine.defaultShardCount());
+        roomTickEngine.startRebalancing(gameExecutor);
+        
+        // Deadlines (expiry, grants, timers) live on one timing wheel instead of periodic scans
+        gameTimer = new GameTimer();
+        
+        // Path searches are CPU-bound; a small fixed pool keeps them off the room tick shards
+        int pathThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        AtomicInteger pathThreadNumber = new AtomicInteger(1);
+        pathExecutor = Executors.newFixedThreadPool(pathThreads, r -> {
+            Thread t = new Thread(r, "Pathfinder-" + pathThreadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        
         logger.info("GameThreadPool initialized with {} threads", corePoolSize);
     }
     
@@ -62,6 +87,50 @@ public class GameThreadPool {
         return gameExecutor;
     }
     
+    /**
+     * Gets the executor that runs client packet handlers on virtual threads.
+     * @return ExecutorService instance
+     */
+    public ExecutorService getClientExecutor() {
+        if (shutdown) {
+            throw new IllegalStateException("GameThreadPool has been shut down");
+        }
+        return clientExecutor;
+    }
+    
+    /**
+     * Gets the sharded engine that runs room ticks.
+     * @return RoomTickEngine instance
+     */
+    public RoomTickEngine getRoomTickEngine() {
+        if (shutdown) {
+            throw new IllegalStateException("GameThreadPool has been shut down");
+        }
+        return roomTickEngine;
+    }
+    
+    /**
+     * Gets the executor for path computation.
+     * @return ExecutorService for path searches
+     */
+    public ExecutorService getPathExecutor() {
+        if (shutdown) {
+            throw new IllegalStateException("GameThreadPool has been shut down");
+        }
+        return pathExecutor;
+    }
+    
+    /**
+     * Gets the shared timer for game deadlines.
+     * @return GameTimer instance
+     */
+    public GameTimer getGameTimer() {
+        if (shutdown) {
+            throw new IllegalStateException("GameThreadPool has been shut down");
+        }
+        return gameTimer;
+    }
+    
     /**
      * Shuts down the thread pool gracefully.
      * Waits for running tasks to complete.
@@ -74,6 +143,18 @@ public class GameThreadPool {
         shutdown = true;
         logger.info("Shutting down GameThreadPool...");
         
+        if (roomTickEngine != null) {
+            roomTickEngine.shutdown();
+        }
+        
+        if (gameTimer != null) {
+            gameTimer.shutdown();
+        }
+        
+        if (pathExecutor != null) {
+            pathExecutor.shutdownNow(); // Results would be applied by ticks that no longer run
+        }
+        
         if (gameExecutor != null && !gameExecutor.isShutdown()) {
             gameExecutor.shutdown();
             try {
@@ -91,6 +172,19 @@ public class GameThreadPool {
             }
         }
         
+        if (clientExecutor != null && !clientExecutor.isShutdown()) {
+            clientExecutor.shutdown();
+            try {
+                if (!clientExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    logger.warn("Client executor did not terminate within timeout, forcing shutdown");
+                    clientExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                clientExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        
         logger.info("GameThreadPool shut down");
     }
     
@@ -0,0 +1,229 @@
+package com.uber.server.game.threading;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Shared deadline timer for timed game state (effect expiry, ban and subscription expiry,
+ * pixel grants, carry timers).
+ * A hierarchical timing wheel: four levels of 256 slots with a 250ms tick, covering about
+ * 34 years. Scheduling and cancelling are O(1); a timeout is only touched again when its slot
+ * comes up (and at most once per level while cascading down), so nothing scans the online
+ * population. One thread advances the wheel; due tasks run on virtual threads so a task that
+ * hits the database never delays the next tick.
+ */
+public class GameTimer implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(GameTimer.class);
+    
+    public static final long TICK_MILLIS = 250;
+    
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+    
+    private final long tickNanos = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+    private final long startNanos;
+    private final List<Timeout>[][] wheels; // [level][slot], wheel thread only
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final ExecutorService taskExecutor;
+    private final Thread thread;
+    
+    private volatile long currentTick; // Written by the wheel thread only
+    private volatile boolean running = true;
+    
+    @SuppressWarnings("unchecked")
+    GameTimer() {
+        this.startNanos = System.nanoTime();
+        this.wheels = new List[LEVELS][WHEEL_SIZE];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                wheels[level][slot] = new ArrayList<>();
+            }
+        }
+        this.taskExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("GameTimer-task-", 1).factory());
+        this.thread = new Thread(this, "GameTimer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        
+        logger.info("GameTimer started ({}ms tick)", TICK_MILLIS);
+    }
+    
+    /**
+     * Schedules a task to run once after a delay.
+     * @param delay Delay
+     * @param unit Delay unit
+     * @param task Task to run
+     * @return Handle for cancelling the task
+     */
+    public Timeout schedule(long delay, TimeUnit unit, Runnable task) {
+        if (!running) {
+            throw new IllegalStateException("GameTimer has been shut down");
+        }
+        
+        // Round up so a task never fires early
+        long delayTicks = (unit.toNanos(Math.max(0, delay)) + tickNanos - 1) / tickNanos;
+        long now = (System.nanoTime() - startNanos) / tickNanos;
+        Timeout timeout = new Timeout(now + Math.min(delayTicks, MAX_DELAY_TICKS), task);
+        incoming.offer(timeout);
+        return timeout;
+    }
+    
+    /**
+     * Schedules a task to run at a Unix timestamp (seconds), as stored in the database.
+     * Timestamps in the past run on the next tick.
+     * @param unixTimestamp Deadline in seconds since the epoch
+     * @param task Task to run
+     * @return Handle for cancelling the task
+     */
+    public Timeout scheduleAt(long unixTimestamp, Runnable task) {
+        long delayMillis = unixTimestamp * 1000 - System.currentTimeMillis();
+        return schedule(delayMillis, TimeUnit.MILLISECONDS, task);
+    }
+    
+    @Override
+    public void run() {
+        while (running) {
+            long nextTickNanos = startNanos + (currentTick + 1) * tickNanos;
+            long wait = nextTickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            
+            try {
+                long tick = currentTick + 1;
+                currentTick = tick;
+                transferIncoming();
+                cascade(tick);
+                expire(wheels[0][(int) (tick & WHEEL_MASK)]);
+            } catch (Exception e) {
+                logger.error("Error advancing GameTimer: {}", e.getMessage(), e);
+            }
+        }
+    }
+    
+    private void transferIncoming() {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                place(timeout);
+            }
+        }
+    }
+    
+    /**
+     * Moves the timeouts of every higher-level slot that starts at this tick one level down.
+     */
+    private void cascade(long tick) {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((tick & ((1L << (WHEEL_BITS * level)) - 1)) != 0) {
+                break; // Lower level has not wrapped, so neither have the ones above
+            }
+            
+            List<Timeout> slot = wheels[level][(int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK)];
+            if (slot.isEmpty()) {
+                continue;
+            }
+            List<Timeout> moving = new ArrayList<>(slot);
+            slot.clear();
+            for (Timeout timeout : moving) {
+                if (!timeout.isCancelled()) {
+                    place(timeout);
+                }
+            }
+        }
+    }
+    
+    private void place(Timeout timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            dispatch(timeout); // Due already (scheduled for this tick or late)
+            return;
+        }
+        
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        wheels[level][(int) ((timeout.deadlineTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)].add(timeout);
+    }
+    
+    private void expire(List<Timeout> slot) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        for (Timeout timeout : slot) {
+            if (!timeout.isCancelled()) {
+                dispatch(timeout);
+            }
+        }
+        slot.clear();
+    }
+    
+    private void dispatch(Timeout timeout) {
+        if (!timeout.markFired()) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                timeout.task.run();
+            } catch (Exception e) {
+                logger.error("Error running timed task: {}", e.getMessage(), e);
+            }
+        });
+    }
+    
+    /**
+     * Stops the wheel. Pending timeouts are dropped.
+     */
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+        taskExecutor.shutdown();
+    }
+    
+    /**
+     * A scheduled task.
+     */
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int FIRED = 2;
+        
+        private final long deadlineTick;
+        private final Runnable task;
+        private final java.util.concurrent.atomic.AtomicInteger state = new java.util.concurrent.atomic.AtomicInteger(PENDING);
+        
+        Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+        
+        /**
+         * Cancels the task. The wheel drops it when its slot comes up.
+         * @return False if the task already fired
+         */
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+        
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+        
+        boolean markFired() {
+            return state.compareAndSet(PENDING, FIRED);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.uber.server.game.threading;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs room ticks on a fixed set of single-threaded shards.
+ * Every room is pinned to exactly one shard, so a room's tick always runs on the same thread
+ * and never overlaps with itself. Shards tick all of their rooms back to back every
+ * {@link #TICK_INTERVAL_MS} and do nothing else, so room processing no longer queues behind
+ * maintenance jobs on the game executor. Rooms are placed on the least loaded shard and are
+ * periodically moved off the busiest shard when the load gets uneven.
+ */
+public class RoomTickEngine {
+    private static final Logger logger = LoggerFactory.getLogger(RoomTickEngine.class);
+    
+    public static final long TICK_INTERVAL_MS = 500;
+    
+    private static final long REBALANCE_INTERVAL_MS = 5000;
+    private static final long REBALANCE_MIN_GAP_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    
+    private final RoomTickShard[] shards;
+    private ScheduledFuture<?> rebalanceTask;
+    private volatile boolean shutdown = false;
+    
+    /**
+     * Creates and starts the shard threads.
+     * @param shardCount Number of shards (at least 1)
+     */
+    RoomTickEngine(int shardCount) {
+        shards = new RoomTickShard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new RoomTickShard(i + 1, TimeUnit.MILLISECONDS.toNanos(TICK_INTERVAL_MS));
+            shards[i].start();
+        }
+        
+        logger.info("RoomTickEngine initialized with {} shards", shards.length);
+    }
+    
+    /**
+     * Default shard count: half of the cores, leaving the rest to Netty and packet handlers.
+     * @return Shard count
+     */
+    static int defaultShardCount() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+    
+    /**
+     * Starts periodic rebalancing on the given executor. The rebalance pass only posts a
+     * migration request to the busiest shard; the move itself happens on the shard threads.
+     * @param executor Executor to run the rebalance pass on
+     */
+    void startRebalancing(ScheduledExecutorService executor) {
+        rebalanceTask = executor.scheduleAtFixedRate(this::rebalance,
+            REBALANCE_INTERVAL_MS, REBALANCE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Registers a room tick. The tick first runs on the chosen shard's next cycle.
+     * @param roomId Room ID (for logging)
+     * @param tick Tick to run every cycle
+     * @return Registration used to cancel the tick
+     */
+    public Registration register(long roomId, Runnable tick) {
+        if (shutdown) {
+            throw new IllegalStateException("RoomTickEngine has been shut down");
+        }
+        
+        Registration registration = new Registration(roomId, tick);
+        synchronized (shards) {
+            // Pick and add together, so concurrent loads see each other's pending rooms
+            leastLoadedShard().add(registration);
+        }
+        return registration;
+    }
+    
+    /**
+     * Moves one room from the busiest to the idlest shard if their loads are far enough apart.
+     */
+    private void rebalance() {
+        if (shards.length < 2 || shutdown) {
+            return;
+        }
+        
+        RoomTickShard busiest = shards[0];
+        RoomTickShard idlest = shards[0];
+        for (RoomTickShard shard : shards) {
+            if (shard.getLoadNanos() > busiest.getLoadNanos()) {
+                busiest = shard;
+            }
+            if (shard.getLoadNanos() < idlest.getLoadNanos()) {
+                idlest = shard;
+            }
+        }
+        
+        long gap = busiest.getLoadNanos() - idlest.getLoadNanos();
+        if (busiest == idlest || gap < REBALANCE_MIN_GAP_NANOS || busiest.getRoomCount() < 2) {
+            return;
+        }
+        
+        // Moving a room costing up to half the gap always narrows it
+        busiest.migrateOne(idlest, gap / 2);
+    }
+    
+    private RoomTickShard leastLoadedShard() {
+        // Rank by projected load, then by room count including rooms still joining, so rooms
+        // loaded in one burst don't all land on the shard that looked idlest before any ticked
+        RoomTickShard best = shards[0];
+        long bestLoad = best.getProjectedLoadNanos();
+        int bestCount = best.getRoomCount();
+        for (RoomTickShard shard : shards) {
+            long load = shard.getProjectedLoadNanos();
+            int count = shard.getRoomCount();
+            if (load < bestLoad || (load == bestLoad && count < bestCount)) {
+                best = shard;
+                bestLoad = load;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Gets the number of shards.
+     * @return Shard count
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+    
+    /**
+     * Gets the number of rooms on a shard.
+     * @param shard Shard index (0-based)
+     * @return Room count
+     */
+    public int getRoomCount(int shard) {
+        return shards[shard].getRoomCount();
+    }
+    
+    /**
+     * Gets the smoothed tick cost of all rooms on a shard.
+     * @param shard Shard index (0-based)
+     * @return Load in nanoseconds per cycle
+     */
+    public long getLoadNanos(int shard) {
+        return shards[shard].getLoadNanos();
+    }
+    
+    /**
+     * Stops all shards, waiting briefly for in-flight ticks to finish.
+     */
+    void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        
+        if (rebalanceTask != null) {
+            rebalanceTask.cancel(false);
+        }
+        for (RoomTickShard shard : shards) {
+            shard.stop();
+        }
+        for (RoomTickShard shard : shards) {
+            shard.await(TimeUnit.SECONDS.toMillis(5));
+        }
+        
+        logger.info("RoomTickEngine shut down");
+    }
+    
+    /**
+     * A room tick registered with the engine.
+     * The owning shard changes only between cycles, on the shard threads themselves.
+     */
+    public static final class Registration {
+        private final long roomId;
+        private final Runnable tick;
+        private volatile boolean cancelled;
+        private long costNanos; // Smoothed tick cost, owned by the current shard thread
+        
+        Registration(long roomId, Runnable tick) {
+            this.roomId = roomId;
+            this.tick = tick;
+        }
+        
+        /**
+         * Stops ticking the room. A tick already running is allowed to finish.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+        
+        public boolean isCancelled() {
+            return cancelled;
+        }
+        
+        long getRoomId() {
+            return roomId;
+        }
+        
+        Runnable getTick() {
+            return tick;
+        }
+        
+        long getCostNanos() {
+            return costNanos;
+        }
+        
+        void recordCost(long nanos) {
+            // EWMA with a weight of 1/8 for the newest sample
+            costNanos += (nanos - costNanos) >> 3;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.uber.server.game.threading;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One room tick thread.
+ * The room list is only touched by the shard thread; other threads hand it work through the
+ * inbox, which is drained at the start of every cycle. A room therefore joins, leaves or
+ * migrates between cycles and never ticks on two shards at once.
+ */
+class RoomTickShard implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(RoomTickShard.class);
+    
+    private final int index;
+    private final long intervalNanos;
+    private final Thread thread;
+    private final Queue<Runnable> inbox = new ConcurrentLinkedQueue<>();
+    private final List<RoomTickEngine.Registration> rooms = new ArrayList<>();
+    
+    private volatile boolean running = true;
+    private volatile long loadNanos;
+    private volatile int roomCount; // Written by the shard thread only
+    private final AtomicInteger pendingAdds = new AtomicInteger(); // Handed over, not yet in the list
+    
+    RoomTickShard(int index, long intervalNanos) {
+        this.index = index;
+        this.intervalNanos = intervalNanos;
+        this.thread = new Thread(this, "RoomTick-" + index);
+        this.thread.setDaemon(false);
+    }
+    
+    void start() {
+        thread.start();
+    }
+    
+    /**
+     * Adds a room; it ticks from the next cycle on.
+     */
+    void add(RoomTickEngine.Registration registration) {
+        pendingAdds.incrementAndGet();
+        inbox.offer(() -> {
+            rooms.add(registration);
+            roomCount = rooms.size();
+            pendingAdds.decrementAndGet();
+        });
+    }
+    
+    /**
+     * Asks the shard to hand its most expensive room costing at most {@code budgetNanos} to
+     * another shard.
+     */
+    void migrateOne(RoomTickShard target, long budgetNanos) {
+        inbox.offer(() -> {
+            RoomTickEngine.Registration candidate = null;
+            for (RoomTickEngine.Registration registration : rooms) {
+                if (!registration.isCancelled() && registration.getCostNanos() <= budgetNanos
+                        && (candidate == null || registration.getCostNanos() > candidate.getCostNanos())) {
+                    candidate = registration;
+                }
+            }
+            
+            if (candidate != null) {
+                rooms.remove(candidate);
+                target.add(candidate);
+                logger.debug("Moved room {} from tick shard {} to {}", candidate.getRoomId(), index, target.index);
+            }
+        });
+    }
+    
+    @Override
+    public void run() {
+        long nextCycle = System.nanoTime() + intervalNanos;
+        
+        while (running) {
+            long wait = nextCycle - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue; // Spurious wakeups and stop() both land here
+            }
+            
+            Runnable task;
+            while ((task = inbox.poll()) != null) {
+                task.run();
+            }
+            
+            long load = 0;
+            for (int i = rooms.size() - 1; i >= 0; i--) {
+                RoomTickEngine.Registration registration = rooms.get(i);
+                if (registration.isCancelled()) {
+                    rooms.remove(i);
+                    continue;
+                }
+                
+                long start = System.nanoTime();
+                try {
+                    registration.getTick().run();
+                } catch (Exception e) {
+                    logger.error("Error ticking room {}: {}", registration.getRoomId(), e.getMessage(), e);
+                }
+                registration.recordCost(System.nanoTime() - start);
+                load += registration.getCostNanos();
+            }
+            loadNanos = load;
+            roomCount = rooms.size();
+            
+            nextCycle += intervalNanos;
+            long now = System.nanoTime();
+            if (nextCycle - now < 0) {
+                // Fell a whole cycle behind; skip the missed cycles rather than bursting to catch up
+                nextCycle = now + intervalNanos;
+            }
+        }
+    }
+    
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+    
+    void await(long timeoutMillis) {
+        try {
+            thread.join(timeoutMillis);
+            if (thread.isAlive()) {
+                logger.warn("Room tick shard {} did not stop within timeout", index);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    long getLoadNanos() {
+        return loadNanos;
+    }
+    
+    int getRoomCount() {
+        return roomCount + pendingAdds.get();
+    }
+    
+    /**
+     * Gets the load this shard is expected to have once the rooms handed to it have joined:
+     * the measured load plus the shard's average room cost for every pending room. Lets a burst
+     * of room loads spread out before the new rooms have ticked.
+     */
+    long getProjectedLoadNanos() {
+        long load = loadNanos;
+        int count = roomCount;
+        int pending = pendingAdds.get();
+        if (pending == 0 || count == 0) {
+            return load;
+        }
+        return load + (load / count) * pending;
+    }
+}
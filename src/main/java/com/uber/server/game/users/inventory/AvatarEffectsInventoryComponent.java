@@ -2,19 +2,23 @@ package com.uber.server.game.users.inventory;
 
 import com.uber.server.game.Game;
 import com.uber.server.game.GameClient;
+import com.uber.server.game.threading.GameThreadPool;
+import com.uber.server.game.threading.GameTimer;
 import com.uber.server.messages.ServerMessage;
 import com.uber.server.repository.EffectRepository;
 import com.uber.server.util.TimeUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Manages avatar effects for a user.
+ * Activated effects are stopped by an expiry timeout on the GameTimer instead of a periodic
+ * scan over every online user.
  */
 public class AvatarEffectsInventoryComponent {
     private static final Logger logger = LoggerFactory.getLogger(AvatarEffectsInventoryComponent.class);
@@ -23,6 +27,7 @@ public class AvatarEffectsInventoryComponent {
     private final Game game;
     private final EffectRepository effectRepository;
     private final CopyOnWriteArrayList<AvatarEffect> effects;
+    private final ConcurrentHashMap<Integer, GameTimer.Timeout> expiryTimeouts;
     private int currentEffect;
     
     public AvatarEffectsInventoryComponent(long userId, Game game, EffectRepository effectRepository) {
@@ -30,6 +35,7 @@ public class AvatarEffectsInventoryComponent {
         this.game = game;
         this.effectRepository = effectRepository;
         this.effects = new CopyOnWriteArrayList<>();
+        this.expiryTimeouts = new ConcurrentHashMap<>();
         this.currentEffect = -1;
     }
     
@@ -61,6 +67,7 @@ public class AvatarEffectsInventoryComponent {
      * Loads effects from the database.
      */
     public void loadEffects() {
+        dispose();
         effects.clear();
         
         List<Map<String, Object>> effectData = effectRepository.loadEffects(userId);
@@ -80,6 +87,9 @@ public class AvatarEffectsInventoryComponent {
                 }
                 
                 effects.add(effect);
+                if (effect.isActivated()) {
+                    scheduleExpiry(effect);
+                }
             } catch (Exception e) {
                 logger.error("Failed to load effect: {}", e.getMessage(), e);
             }
@@ -126,6 +136,10 @@ public class AvatarEffectsInventoryComponent {
         }
         
         effects.remove(effect);
+        GameTimer.Timeout timeout = expiryTimeouts.remove(effectId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
         
         // Notify client
         GameClient client = getClient();
@@ -189,6 +203,7 @@ public class AvatarEffectsInventoryComponent {
         }
         
         effect.activate();
+        scheduleExpiry(effect);
         
         // Notify client
         GameClient client = getClient();
@@ -249,20 +264,38 @@ public class AvatarEffectsInventoryComponent {
     }
     
     /**
-     * Checks for and removes expired effects.
+     * Schedules an activated effect to be stopped when it runs out.
+     * @param effect Activated effect
      */
-    public void checkExpired() {
-        List<Integer> toRemove = new ArrayList<>();
-        
-        for (AvatarEffect effect : effects) {
+    private void scheduleExpiry(AvatarEffect effect) {
+        int effectId = effect.getEffectId();
+        long expireAt = effect.getStampActivated() + effect.getTotalDuration();
+        GameTimer.Timeout timeout = GameThreadPool.getInstance().getGameTimer().scheduleAt(expireAt, () -> {
+            if (!effects.contains(effect)) {
+                return;
+            }
             if (effect.hasExpired()) {
-                toRemove.add(effect.getEffectId());
+                stopEffect(effectId);
+            } else {
+                scheduleExpiry(effect); // Clock skew between wall time and the wheel; try again
             }
-        }
+        });
         
-        for (Integer effectId : toRemove) {
-            stopEffect(effectId);
+        GameTimer.Timeout previous = expiryTimeouts.put(effectId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+    
+    /**
+     * Cancels all pending expiry timeouts (user logged out or effects reloaded).
+     * Expired effects left behind are removed from the database on the next load.
+     */
+    public void dispose() {
+        for (GameTimer.Timeout timeout : expiryTimeouts.values()) {
+            timeout.cancel();
         }
+        expiryTimeouts.clear();
     }
     
     /**
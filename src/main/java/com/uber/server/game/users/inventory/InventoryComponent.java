@@ -167,6 +167,49 @@ public class InventoryComponent {
         }
     }
     
+    /**
+     * Adds items to inventory without waiting for the database, for room commands on a tick
+     * thread. The rows are inserted in one batch on the database executor; the items are added
+     * and the client's inventory refreshed only once they are saved, so they cannot be placed
+     * again before their rows exist.
+     * @param items Items to add
+     */
+    public void addItemsAsync(List<UserItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        
+        com.uber.server.repository.AsyncRepository<InventoryRepository> async =
+            game != null ? game.getInventoryRepositoryAsync() : null;
+        if (async == null) {
+            for (UserItem item : items) {
+                addItem(item.getId(), item.getBaseItemId(), item.getExtraData());
+            }
+            updateItems(false);
+            return;
+        }
+        
+        long[] itemIds = new long[items.size()];
+        long[] baseItems = new long[items.size()];
+        String[] extraData = new String[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            UserItem item = items.get(i);
+            itemIds[i] = item.getId();
+            baseItems[i] = item.getBaseItemId();
+            extraData[i] = item.getExtraData();
+        }
+        
+        async.call(repo -> repo.createUserItems(userId, itemIds, baseItems, extraData)).thenAccept(saved -> {
+            if (!saved) {
+                logger.error("Failed to add {} items to user {} in database", items.size(), userId);
+                return;
+            }
+            
+            inventoryItems.addAll(items);
+            updateItems(false);
+        });
+    }
+    
     /**
      * Adds a pet to inventory (from Map).
      * @param pet Pet data map
@@ -1,5 +1,7 @@
 package com.uber.server.game.users.subscriptions;
 
+import com.uber.server.game.threading.GameThreadPool;
+import com.uber.server.game.threading.GameTimer;
 import com.uber.server.repository.SubscriptionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +13,8 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages user subscriptions.
+ * Each subscription has an expiry timeout on the GameTimer that drops it once it lapses, so
+ * expired subscriptions stop granting rights without anything polling for them.
  */
 public class SubscriptionManager {
     private static final Logger logger = LoggerFactory.getLogger(SubscriptionManager.class);
@@ -18,18 +22,20 @@ public class SubscriptionManager {
     private final long userId;
     private final SubscriptionRepository subscriptionRepository;
     private final ConcurrentHashMap<String, Subscription> subscriptions;
+    private final ConcurrentHashMap<String, GameTimer.Timeout> expiryTimeouts;
     
     public SubscriptionManager(long userId, SubscriptionRepository subscriptionRepository) {
         this.userId = userId;
         this.subscriptionRepository = subscriptionRepository;
         this.subscriptions = new ConcurrentHashMap<>();
+        this.expiryTimeouts = new ConcurrentHashMap<>();
     }
     
     /**
      * Loads subscriptions from the database.
      */
     public void loadSubscriptions() {
-        subscriptions.clear();
+        clear();
         
         List<Map<String, Object>> subscriptionData = subscriptionRepository.loadSubscriptions(userId);
         for (Map<String, Object> row : subscriptionData) {
@@ -40,6 +46,7 @@ public class SubscriptionManager {
                 
                 Subscription subscription = new Subscription(subscriptionId, timestampActivated, timestampExpire);
                 subscriptions.put(subscriptionId.toLowerCase(), subscription);
+                scheduleExpiry(subscriptionId.toLowerCase(), subscription);
             } catch (Exception e) {
                 logger.error("Failed to load subscription: {}", e.getMessage(), e);
             }
@@ -102,6 +109,7 @@ public class SubscriptionManager {
             // Extend existing subscription
             subscription.extendSubscription(durationSeconds);
             subscriptionRepository.updateSubscriptionExpire(userId, subscriptionId, subscription.getExpireTime());
+            scheduleExpiry(subscriptionId, subscription);
         } else {
             // Create new subscription
             long now = com.uber.server.util.TimeUtil.getUnixTimestamp();
@@ -109,6 +117,7 @@ public class SubscriptionManager {
             subscription = new Subscription(subscriptionId, now, expireTime);
             subscriptions.put(subscriptionId, subscription);
             subscriptionRepository.createSubscription(userId, subscriptionId, now, expireTime);
+            scheduleExpiry(subscriptionId, subscription);
         }
     }
     
@@ -116,6 +125,29 @@ public class SubscriptionManager {
      * Clears all subscriptions from memory.
      */
     public void clear() {
+        for (GameTimer.Timeout timeout : expiryTimeouts.values()) {
+            timeout.cancel();
+        }
+        expiryTimeouts.clear();
         subscriptions.clear();
     }
+    
+    /**
+     * (Re)schedules removal of a subscription at its expiry time.
+     * @param subscriptionId Lowercase subscription ID
+     * @param subscription Subscription
+     */
+    private void scheduleExpiry(String subscriptionId, Subscription subscription) {
+        GameTimer.Timeout timeout = GameThreadPool.getInstance().getGameTimer().scheduleAt(subscription.getExpireTime(), () -> {
+            if (!subscription.isValid() && subscriptions.remove(subscriptionId, subscription)) {
+                expiryTimeouts.remove(subscriptionId);
+                logger.debug("Subscription {} of user {} expired", subscriptionId, userId);
+            }
+        });
+        
+        GameTimer.Timeout previous = expiryTimeouts.put(subscriptionId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
 }
@@ -23,8 +23,8 @@ public class PongHandler implements PacketHandler {
             return;
         }
         
-        // Set PongOK flag to indicate client responded
-        client.setPongOK(true);
+        // Answers the outstanding ping and records its round trip time
+        com.uber.server.game.Game.getInstance().getClientManager().handlePong(client);
         logger.debug("Received pong from client {}", client.getClientId());
     }
 }
@@ -104,6 +104,11 @@ public class SSOLoginHandler implements PacketHandler {
             game.getUserRepository().updateOnlineStatus(habbo.getId(), 1, "", ipAddress);
             game.getUserInfoRepository().updateLoginTimestamp(habbo.getId(), System.currentTimeMillis() / 1000);
             
+            // Start the activity point (pixel) timer
+            if (game.getPixelManager() != null) {
+                game.getPixelManager().schedule(habbo);
+            }
+            
             // Send rights
             List<String> rights = game.getRoleManager() != null ? 
                 game.getRoleManager().getRightsForHabbo(habbo) : new ArrayList<>();
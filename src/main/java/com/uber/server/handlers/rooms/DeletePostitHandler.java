@@ -45,18 +45,22 @@ public class DeletePostitHandler implements PacketHandler {
         if (room == null || !room.checkRights(client, true)) {
             return;
         }
-        RoomItem item = room.getItem(itemId);
         
-        if (item == null) {
-            return;
-        }
-        
-        com.uber.server.game.items.Item baseItem = item.getBaseItem();
-        if (baseItem == null || !"postit".equalsIgnoreCase(baseItem.getInteractionType())) {
-            return;
-        }
-        
-        // Remove furniture (only owners can delete postits)
-        room.removeFurniture(client, itemId);
+        long postitId = itemId;
+        room.submitCommand(() -> {
+            RoomItem item = room.getItem(postitId);
+            
+            if (item == null) {
+                return;
+            }
+            
+            com.uber.server.game.items.Item baseItem = item.getBaseItem();
+            if (baseItem == null || !"postit".equalsIgnoreCase(baseItem.getInteractionType())) {
+                return;
+            }
+            
+            // Remove furniture (only owners can delete postits)
+            room.removeFurniture(client, postitId);
+        });
     }
 }
@@ -69,27 +69,35 @@ public class OpenPresentHandler implements PacketHandler {
             return;
         }
         
-        // Remove present from room
-        room.removeFurniture(client, itemId);
-        
-        // Send present opened message (ID 219)
-        ServerMessage openedMsg = new ServerMessage(219);
-        openedMsg.appendUInt(itemId);
-        client.sendMessage(openedMsg);
-        
-        // Send item info (ID 129)
-        ServerMessage itemInfoMsg = new ServerMessage(129);
-        itemInfoMsg.appendStringWithBreak(baseItem.getType());
-        itemInfoMsg.appendInt32(baseItem.getSpriteId());
-        itemInfoMsg.appendStringWithBreak(baseItem.getItemName());
-        client.sendMessage(itemInfoMsg);
-        
-        // Delete present from database
-        game.getInventoryRepository().deleteUserPresent(itemId);
-        
-        // Deliver items to user
         int amount = ((Number) presentData.get("amount")).intValue();
         String extraData = (String) presentData.get("extra_data");
-        game.getCatalog().deliverItems(client, baseItem, amount, extraData != null ? extraData : "");
+        long presentId = itemId;
+        room.submitCommand(() -> {
+            // Only the first open of a present gets past this; a repeat queued behind it finds it gone
+            if (room.getItem(presentId) == null) {
+                return;
+            }
+            
+            // Remove present from room
+            room.removeFurniture(client, presentId);
+            
+            // Send present opened message (ID 219)
+            ServerMessage openedMsg = new ServerMessage(219);
+            openedMsg.appendUInt(presentId);
+            client.sendMessage(openedMsg);
+            
+            // Send item info (ID 129)
+            ServerMessage itemInfoMsg = new ServerMessage(129);
+            itemInfoMsg.appendStringWithBreak(baseItem.getType());
+            itemInfoMsg.appendInt32(baseItem.getSpriteId());
+            itemInfoMsg.appendStringWithBreak(baseItem.getItemName());
+            client.sendMessage(itemInfoMsg);
+            
+            // Delete the present and deliver its contents off the tick thread; both hit the database
+            game.getInventoryRepositoryAsync().run(repo -> {
+                repo.deleteUserPresent(presentId);
+                game.getCatalog().deliverItems(client, baseItem, amount, extraData != null ? extraData : "");
+            });
+        });
     }
 }
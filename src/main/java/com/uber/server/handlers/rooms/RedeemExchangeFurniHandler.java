@@ -76,16 +76,28 @@ public class RedeemExchangeFurniHandler implements PacketHandler {
             return;
         }
         
-        if (value > 0) {
-            habbo.setCredits(habbo.getCredits() + value);
-            habbo.updateCreditsBalance(game.getUserRepository(), true);
-        }
-        
-        // Remove item from room
-        room.removeFurniture(null, itemId);
-        
-        // Send response (ID 219)
-        ServerMessage response = new ServerMessage(219);
-        client.sendMessage(response);
+        long exchangeItemId = itemId;
+        int credits = value;
+        room.submitCommand(() -> {
+            // Only the first redeem of an item gets past this; a repeat queued behind it finds it gone
+            if (room.getItem(exchangeItemId) == null) {
+                return;
+            }
+            
+            // Remove item from room
+            room.removeFurniture(null, exchangeItemId);
+            
+            // Credit the user off the tick thread, in order with their other redeems
+            if (credits > 0) {
+                game.async(game.getUserRepository()).runOrdered(habbo.getId(), repo -> {
+                    habbo.setCredits(habbo.getCredits() + credits);
+                    habbo.updateCreditsBalance(repo, true);
+                });
+            }
+            
+            // Send response (ID 219)
+            ServerMessage response = new ServerMessage(219);
+            client.sendMessage(response);
+        });
     }
 }
@@ -58,19 +58,22 @@ public class TriggerItemHandler implements PacketHandler {
             return;
         }
         
-        RoomItem item = room.getItem(itemId);
-        
-        if (item == null) {
-            return;
-        }
-        
-        boolean hasRights = room.checkRights(client);
+        long triggeredItemId = itemId;
         int request = parameter;
-        
-        // Call item interactor OnTrigger
-        item.getInteractor().onTrigger(client, item, request, hasRights);
-        
-        logger.debug("Item {} triggered by user {} (request: {}, hasRights: {})", 
-                    itemId, habbo.getId(), request, hasRights);
+        room.submitCommand(() -> {
+            RoomItem item = room.getItem(triggeredItemId);
+            
+            if (item == null) {
+                return;
+            }
+            
+            boolean hasRights = room.checkRights(client);
+            
+            // Call item interactor OnTrigger
+            item.getInteractor().onTrigger(client, item, request, hasRights);
+            
+            logger.debug("Item {} triggered by user {} (request: {}, hasRights: {})", 
+                        triggeredItemId, habbo.getId(), request, hasRights);
+        });
     }
 }
@@ -2,37 +2,49 @@ package com.uber.server.messages;
 
 import com.uber.server.encoding.base64.Base64Encoding;
 import com.uber.server.encoding.client.ClientMessageDecoder;
-import com.uber.server.encoding.wire.WireEncoding;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 import java.nio.charset.Charset;
 
 /**
  * Client-to-server message parser.
  * Parses messages in format: [2 bytes: Base64 message ID][body]
+ *
+ * The body is a retained slice of the channel's inbound buffer; fields are read in place
+ * through a cursor. The slice must be released with {@link #release()} once the handler returns.
  */
 public class ClientMessage {
     private final long messageId;
-    private final byte[] body;
+    private final ByteBuf body;
+    private final int start; // Index of the first body byte in the buffer
+    private final int length;
     private int pointer;
     private static final Charset DEFAULT_ENCODING = Charset.defaultCharset();
     private ClientMessageDecoder decoder;
     
-    public ClientMessage(long messageId, byte[] body) {
+    public ClientMessage(long messageId, ByteBuf body) {
         this.messageId = messageId;
-        this.body = body != null ? body : new byte[0];
+        this.body = body != null ? body : Unpooled.EMPTY_BUFFER;
+        this.start = this.body.readerIndex();
+        this.length = this.body.readableBytes();
         this.pointer = 0;
     }
     
+    public ClientMessage(long messageId, byte[] body) {
+        this(messageId, body != null ? Unpooled.wrappedBuffer(body) : null);
+    }
+    
     public long getId() {
         return messageId;
     }
     
     public int getLength() {
-        return body.length;
+        return length;
     }
     
     public int getRemainingLength() {
-        return body.length - pointer;
+        return length - pointer;
     }
     
     public String getHeader() {
@@ -46,32 +58,83 @@ public class ClientMessage {
     
     public void advancePointer(int amount) {
         pointer += amount;
-        if (pointer > body.length) {
-            pointer = body.length;
+        if (pointer > length) {
+            pointer = length;
         }
     }
     
     public String getBody() {
-        return new String(body, DEFAULT_ENCODING);
+        return body.toString(start, length, DEFAULT_ENCODING);
     }
     
     /**
-     * Reads bytes and advances the pointer.
-     * @param bytes Number of bytes to read
-     * @return Byte array containing the read bytes
+     * Gets the underlying buffer, for decoding fields in place.
+     * Use {@link #getReaderIndex()} for the current position; the buffer's own indexes are not moved.
+     * @return Body buffer
      */
-    public byte[] readBytes(int bytes) {
+    public ByteBuf getBuffer() {
+        return body;
+    }
+    
+    /**
+     * Gets the absolute buffer index of the current pointer.
+     * @return Buffer index of the next unread body byte
+     */
+    public int getReaderIndex() {
+        return start + pointer;
+    }
+    
+    /**
+     * Gets the body byte at an offset from the current pointer without advancing it.
+     * @param offset Offset from the pointer
+     * @return Byte value, or 0 if past the end of the body
+     */
+    public byte peekByte(int offset) {
+        int index = pointer + offset;
+        if (offset < 0 || index >= length) {
+            return 0;
+        }
+        return body.getByte(start + index);
+    }
+    
+    /**
+     * Reads a single byte and advances the pointer.
+     * @return Byte value, or 0 if no bytes remain
+     */
+    public byte popByte() {
+        if (pointer >= length) {
+            return 0;
+        }
+        return body.getByte(start + pointer++);
+    }
+    
+    /**
+     * Decodes a string from the body at the current pointer and advances past it.
+     * @param bytes Number of bytes to decode
+     * @param encoding Character encoding
+     * @return Decoded string
+     */
+    public String readString(int bytes, Charset encoding) {
         if (bytes > getRemainingLength()) {
             bytes = getRemainingLength();
         }
-        
-        byte[] data = new byte[bytes];
-        for (int i = 0; i < bytes; i++) {
-            if (pointer < body.length) {
-                data[i] = body[pointer++];
-            }
+        if (bytes <= 0) {
+            return "";
         }
         
+        String value = body.toString(start + pointer, bytes, encoding);
+        pointer += bytes;
+        return value;
+    }
+    
+    /**
+     * Reads bytes and advances the pointer.
+     * @param bytes Number of bytes to read
+     * @return Byte array containing the read bytes
+     */
+    public byte[] readBytes(int bytes) {
+        byte[] data = plainReadBytes(bytes);
+        pointer += data.length;
         return data;
     }
     
@@ -85,14 +148,22 @@ public class ClientMessage {
             bytes = getRemainingLength();
         }
         
-        byte[] data = new byte[bytes];
-        for (int x = 0, y = pointer; x < bytes && y < body.length; x++, y++) {
-            data[x] = body[y];
-        }
+        byte[] data = new byte[Math.max(bytes, 0)];
+        body.getBytes(start + pointer, data, 0, data.length);
         
         return data;
     }
     
+    /**
+     * Releases the underlying buffer slice.
+     * Must be called once the message has been handled; the body can't be read afterwards.
+     */
+    public void release() {
+        if (body.refCnt() > 0) {
+            body.release();
+        }
+    }
+    
     /**
      * Gets the decoder for this message.
      * @return ClientMessageDecoder instance
@@ -1,22 +1,29 @@
 package com.uber.server.messages;
 
+import com.uber.server.messages.ratelimit.PacketRateLimits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
- * Registry for packet handlers using ConcurrentHashMap for thread safety.
+ * Registry for packet handlers.
+ * Handlers live in a flat array indexed by message ID (IDs are bounded by HIGHEST_MESSAGE_ID).
+ * The array is copied on write and published through a volatile field, so lookups are a
+ * single array load without locking.
  */
 public class PacketHandlerRegistry {
     private static final Logger logger = LoggerFactory.getLogger(PacketHandlerRegistry.class);
     public static final int HIGHEST_MESSAGE_ID = 4004;
     
-    private final Map<Integer, PacketHandler> handlers;
+    private volatile PacketHandler[] handlers;
+    private final PacketStatistics statistics;
+    private final PacketRateLimits rateLimits;
     
     public PacketHandlerRegistry() {
-        this.handlers = new ConcurrentHashMap<>();
+        this.handlers = new PacketHandler[HIGHEST_MESSAGE_ID + 1];
+        this.statistics = new PacketStatistics(HIGHEST_MESSAGE_ID);
+        this.rateLimits = new PacketRateLimits();
     }
     
     /**
@@ -35,7 +42,7 @@ public class PacketHandlerRegistry {
             return;
         }
         
-        handlers.put(messageId, handler);
+        setHandler(messageId, handler);
         logger.debug("Registered handler for message ID: {}", messageId);
     }
     
@@ -45,7 +52,10 @@ public class PacketHandlerRegistry {
      * @return The packet handler, or null if not found
      */
     public PacketHandler getHandler(int messageId) {
-        return handlers.get(messageId);
+        if (messageId < 0 || messageId > HIGHEST_MESSAGE_ID) {
+            return null;
+        }
+        return handlers[messageId];
     }
     
     /**
@@ -54,7 +64,7 @@ public class PacketHandlerRegistry {
      * @return True if a handler is registered
      */
     public boolean hasHandler(int messageId) {
-        return handlers.containsKey(messageId);
+        return getHandler(messageId) != null;
     }
     
     /**
@@ -62,15 +72,18 @@ public class PacketHandlerRegistry {
      * @param messageId The message ID
      */
     public void unregister(int messageId) {
-        handlers.remove(messageId);
+        if (messageId < 0 || messageId > HIGHEST_MESSAGE_ID) {
+            return;
+        }
+        setHandler(messageId, null);
         logger.debug("Unregistered handler for message ID: {}", messageId);
     }
     
     /**
      * Clears all registered handlers.
      */
-    public void clear() {
-        handlers.clear();
+    public synchronized void clear() {
+        handlers = new PacketHandler[HIGHEST_MESSAGE_ID + 1];
         logger.debug("Cleared all packet handlers");
     }
     
@@ -79,6 +92,34 @@ public class PacketHandlerRegistry {
      * @return Number of registered handlers
      */
     public int size() {
-        return handlers.size();
+        int count = 0;
+        for (PacketHandler handler : handlers) {
+            if (handler != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Gets the per-message-ID dispatch statistics.
+     * @return PacketStatistics instance
+     */
+    public PacketStatistics getStatistics() {
+        return statistics;
+    }
+    
+    /**
+     * Gets the per-client rate limit settings and violation counters.
+     * @return PacketRateLimits instance
+     */
+    public PacketRateLimits getRateLimits() {
+        return rateLimits;
+    }
+    
+    private synchronized void setHandler(int messageId, PacketHandler handler) {
+        PacketHandler[] copy = Arrays.copyOf(handlers, handlers.length);
+        copy[messageId] = handler;
+        handlers = copy;
     }
 }
@@ -0,0 +1,173 @@
+package com.uber.server.messages;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-message-ID dispatch counters and latency histograms.
+ * Recording is a handful of atomic adds into flat arrays indexed by message ID, cheap enough
+ * to run around every handler call. Latencies go into power-of-two microsecond buckets
+ * (bucket 0 is under 1us, bucket n covers [2^(n-1), 2^n) us, the last bucket is open-ended).
+ */
+public class PacketStatistics {
+    public static final int BUCKETS = 24; // Up to ~4s, last bucket catches the rest
+    
+    private final int maxMessageId;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray totalNanos;
+    private final AtomicLongArray maxNanos;
+    private final AtomicLongArray histogram; // [messageId * BUCKETS + bucket]
+    private volatile long resetTime;
+    
+    public PacketStatistics(int maxMessageId) {
+        this.maxMessageId = maxMessageId;
+        this.counts = new AtomicLongArray(maxMessageId + 1);
+        this.totalNanos = new AtomicLongArray(maxMessageId + 1);
+        this.maxNanos = new AtomicLongArray(maxMessageId + 1);
+        this.histogram = new AtomicLongArray((maxMessageId + 1) * BUCKETS);
+        this.resetTime = System.currentTimeMillis();
+    }
+    
+    /**
+     * Records one handler call.
+     * @param messageId Message ID
+     * @param nanos Time spent in the handler
+     */
+    public void record(int messageId, long nanos) {
+        if (messageId < 0 || messageId > maxMessageId) {
+            return;
+        }
+        
+        counts.incrementAndGet(messageId);
+        totalNanos.addAndGet(messageId, nanos);
+        histogram.incrementAndGet(messageId * BUCKETS + bucketFor(nanos));
+        
+        long max;
+        while (nanos > (max = maxNanos.get(messageId))) {
+            if (maxNanos.compareAndSet(messageId, max, nanos)) {
+                break;
+            }
+        }
+    }
+    
+    /**
+     * Clears all counters and histograms.
+     */
+    public void reset() {
+        for (int i = 0; i <= maxMessageId; i++) {
+            counts.set(i, 0);
+            totalNanos.set(i, 0);
+            maxNanos.set(i, 0);
+        }
+        for (int i = 0; i < histogram.length(); i++) {
+            histogram.set(i, 0);
+        }
+        resetTime = System.currentTimeMillis();
+    }
+    
+    /**
+     * Gets the time statistics were last reset.
+     * @return Epoch milliseconds
+     */
+    public long getResetTime() {
+        return resetTime;
+    }
+    
+    /**
+     * Takes a snapshot of every message ID that has been handled at least once.
+     * @param sortOrder Order of the returned entries
+     * @return Snapshot entries
+     */
+    public List<Entry> snapshot(Comparator<Entry> sortOrder) {
+        List<Entry> entries = new ArrayList<>();
+        for (int id = 0; id <= maxMessageId; id++) {
+            long count = counts.get(id);
+            if (count == 0) {
+                continue;
+            }
+            
+            long[] buckets = new long[BUCKETS];
+            for (int b = 0; b < BUCKETS; b++) {
+                buckets[b] = histogram.get(id * BUCKETS + b);
+            }
+            entries.add(new Entry(id, count, totalNanos.get(id), maxNanos.get(id), buckets));
+        }
+        entries.sort(sortOrder);
+        return entries;
+    }
+    
+    private static int bucketFor(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+    
+    /**
+     * Statistics for a single message ID.
+     */
+    public static class Entry {
+        public static final Comparator<Entry> BY_TOTAL_TIME = Comparator.comparingLong(Entry::getTotalNanos).reversed();
+        public static final Comparator<Entry> BY_COUNT = Comparator.comparingLong(Entry::getCount).reversed();
+        
+        private final int messageId;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] buckets;
+        
+        public Entry(int messageId, long count, long totalNanos, long maxNanos, long[] buckets) {
+            this.messageId = messageId;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.buckets = buckets;
+        }
+        
+        public int getMessageId() {
+            return messageId;
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+        
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+        
+        public long getMeanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+        
+        /**
+         * Gets an upper bound for a latency percentile from the histogram.
+         * @param percentile Percentile (0-100)
+         * @return Upper edge of the bucket holding the percentile, in microseconds
+         */
+        public long getPercentileMicros(double percentile) {
+            long total = 0;
+            for (long bucket : buckets) {
+                total += bucket;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            
+            long target = (long) Math.ceil(total * percentile / 100.0);
+            long seen = 0;
+            for (int b = 0; b < buckets.length; b++) {
+                seen += buckets[b];
+                if (seen >= target) {
+                    return b == 0 ? 1 : 1L << b;
+                }
+            }
+            return 1L << (buckets.length - 1);
+        }
+    }
+}
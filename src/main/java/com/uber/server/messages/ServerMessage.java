@@ -3,24 +3,34 @@ package com.uber.server.messages;
 import com.uber.server.encoding.base64.Base64Encoding;
 import com.uber.server.encoding.server.ServerMessageEncoder;
 import com.uber.server.encoding.wire.WireEncoding;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 
 import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * Server-to-client message builder and formatter.
  * Formats messages as: [2 bytes: Base64 message ID][body][1 byte: terminator 0x01]
+ *
+ * The header and body are kept in a single growable byte array so appends never box
+ * and the encoder can write the whole frame to the channel buffer in one copy.
  */
 public class ServerMessage {
-    private long messageId;
-    private final List<Byte> body;
+    public static final int HEADER_LENGTH = 2;
+    public static final byte TERMINATOR = 1;
+    private static final int INITIAL_CAPACITY = 64;
     private static final Charset DEFAULT_ENCODING = Charset.defaultCharset();
+    
+    private long messageId;
+    private byte[] buffer; // [header][body]
+    private int position; // Next write index into buffer
     private ServerMessageEncoder encoder;
     
     public ServerMessage() {
-        this.body = new ArrayList<>();
-        this.messageId = 0;
+        this.buffer = new byte[INITIAL_CAPACITY];
+        init(0);
     }
     
     public ServerMessage(long messageId) {
@@ -33,8 +43,7 @@ public class ServerMessage {
     }
     
     public String getHeader() {
-        byte[] headerBytes = Base64Encoding.encodeUInt32(messageId, 2);
-        return new String(headerBytes, DEFAULT_ENCODING);
+        return new String(buffer, 0, HEADER_LENGTH, DEFAULT_ENCODING);
     }
     
     /**
@@ -43,36 +52,56 @@ public class ServerMessage {
      * @return Byte value
      */
     public byte getBodyByte(int index) {
-        if (index >= 0 && index < body.size()) {
-            return body.get(index);
+        if (index >= 0 && index < getLength()) {
+            return buffer[HEADER_LENGTH + index];
         }
         return 0;
     }
     
     public int getLength() {
-        return body.size();
+        return position - HEADER_LENGTH;
+    }
+    
+    /**
+     * Gets the length of the encoded frame (header, body and terminator).
+     * @return Frame length in bytes
+     */
+    public int getFrameLength() {
+        return position + 1;
     }
     
     public void init(long messageId) {
         this.messageId = messageId;
-        this.body.clear();
+        Base64Encoding.encodeInt32((int) messageId, HEADER_LENGTH, buffer, 0);
+        this.position = HEADER_LENGTH;
     }
     
     public void clear() {
-        this.body.clear();
+        this.position = HEADER_LENGTH;
+    }
+    
+    /**
+     * Grows the backing array so that at least the given number of bytes can be appended.
+     */
+    private void ensureCapacity(int extra) {
+        int required = position + extra;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length << 1));
+        }
     }
     
     public void appendByte(byte b) {
-        body.add(b);
+        ensureCapacity(1);
+        buffer[position++] = b;
     }
     
     public void appendBytes(byte[] data) {
         if (data == null || data.length == 0) {
             return;
         }
-        for (byte b : data) {
-            body.add(b);
-        }
+        ensureCapacity(data.length);
+        System.arraycopy(data, 0, buffer, position, data.length);
+        position += data.length;
     }
     
     public void appendString(String s, Charset encoding) {
@@ -96,11 +125,12 @@ public class ServerMessage {
     }
     
     public void appendInt32(int i) {
-        appendBytes(WireEncoding.encodeInt32(i));
+        ensureCapacity(WireEncoding.MAX_INTEGER_BYTE_AMOUNT);
+        position += WireEncoding.encodeInt32(i, buffer, position);
     }
     
     public void appendRawInt32(int i) {
-        appendString(String.valueOf(i), Charset.forName("ASCII"));
+        appendString(String.valueOf(i), StandardCharsets.US_ASCII);
     }
     
     public void appendUInt(long i) {
@@ -112,11 +142,45 @@ public class ServerMessage {
     }
     
     public void appendBoolean(boolean bool) {
-        if (bool) {
-            body.add(WireEncoding.POSITIVE);
-        } else {
-            body.add(WireEncoding.NEGATIVE);
-        }
+        appendByte(bool ? WireEncoding.POSITIVE : WireEncoding.NEGATIVE);
+    }
+    
+    /**
+     * Copies the body into a destination array.
+     * @param dest Destination array
+     * @param offset Offset in the destination array
+     */
+    public void copyBody(byte[] dest, int offset) {
+        System.arraycopy(buffer, HEADER_LENGTH, dest, offset, getLength());
+    }
+    
+    /**
+     * Writes the body (without header or terminator) into a Netty buffer.
+     * @param out Destination buffer
+     */
+    public void writeBodyTo(ByteBuf out) {
+        out.writeBytes(buffer, HEADER_LENGTH, getLength());
+    }
+    
+    /**
+     * Writes the full frame ([header][body][terminator]) into a Netty buffer.
+     * @param out Destination buffer
+     */
+    public void writeTo(ByteBuf out) {
+        out.writeBytes(buffer, 0, position);
+        out.writeByte(TERMINATOR);
+    }
+    
+    /**
+     * Encodes the message into a new buffer holding the complete frame.
+     * Used to encode a broadcast once and share it between recipients.
+     * @param allocator Allocator for the frame buffer
+     * @return Frame buffer, owned by the caller
+     */
+    public ByteBuf toFrame(ByteBufAllocator allocator) {
+        ByteBuf frame = allocator.ioBuffer(getFrameLength());
+        writeTo(frame);
+        return frame;
     }
     
     /**
@@ -132,11 +196,7 @@ public class ServerMessage {
     }
     
     public String toBodyString() {
-        byte[] bodyArray = new byte[body.size()];
-        for (int i = 0; i < body.size(); i++) {
-            bodyArray[i] = body.get(i);
-        }
-        return new String(bodyArray, DEFAULT_ENCODING);
+        return new String(buffer, HEADER_LENGTH, getLength(), DEFAULT_ENCODING);
     }
     
     @Override
@@ -26,8 +26,8 @@ public class PongMessageComposerHandler implements IncomingMessageHandler {
             return;
         }
         
-        // Set PongOK flag to indicate client responded
-        client.setPongOK(true);
+        // Answers the outstanding ping and records its round trip time
+        Game.getInstance().getClientManager().handlePong(client);
         logger.debug("Received pong from client {}", client.getClientId());
     }
 }
@@ -49,16 +49,21 @@ public class MoveAvatarMessageComposerHandler implements IncomingMessageHandler
             return;
         }
         
-        var roomUser = room.getRoomUserByHabbo(habbo.getId());
-        if (roomUser == null || !roomUser.canWalk()) {
-            return;
-        }
-        
-        // Don't move if already at destination
-        if (moveX == roomUser.getX() && moveY == roomUser.getY()) {
-            return;
-        }
-        
-        roomUser.moveTo(moveX, moveY);
+        long habboId = habbo.getId();
+        int goalX = moveX;
+        int goalY = moveY;
+        room.submitCommand(() -> {
+            var roomUser = room.getRoomUserByHabbo(habboId);
+            if (roomUser == null || !roomUser.canWalk()) {
+                return;
+            }
+            
+            // Don't move if already at destination
+            if (goalX == roomUser.getX() && goalY == roomUser.getY()) {
+                return;
+            }
+            
+            roomUser.moveTo(goalX, goalY);
+        });
     }
 }
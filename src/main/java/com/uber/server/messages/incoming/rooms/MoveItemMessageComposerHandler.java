@@ -54,12 +54,17 @@ public class MoveItemMessageComposerHandler implements IncomingMessageHandler {
             return;
         }
         
-        RoomItem item = room.getItem(itemId);
-        
-        if (item == null) {
-            return;
-        }
-        
-        room.setFloorItem(client, item, x, y, rot, false);
+        long movedItemId = itemId;
+        int newX = x;
+        int newY = y;
+        int newRot = rot;
+        room.submitCommand(() -> {
+            RoomItem item = room.getItem(movedItemId);
+            if (item == null) {
+                return;
+            }
+            
+            room.setFloorItem(client, item, newX, newY, newRot, false);
+        });
     }
 }
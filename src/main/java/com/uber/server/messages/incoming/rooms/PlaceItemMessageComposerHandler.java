@@ -88,9 +88,13 @@ public class PlaceItemMessageComposerHandler implements IncomingMessageHandler {
                                                 userItem.getBaseItemId(), 
                                                 userItem.getExtraData(), 0, 0, 0.0, 0, wallPos, game);
                 
-                if (room.setWallItem(client, roomItem)) {
-                    habbo.getInventoryComponent().removeItem(itemId);
-                }
+                // Take it out of the inventory now so it can't be placed twice while queued
+                habbo.getInventoryComponent().removeItem(itemId);
+                room.submitCommand(() -> {
+                    if (!room.setWallItem(client, roomItem)) {
+                        returnToInventory(habbo, userItem);
+                    }
+                });
             }
             // Floor Item
             else {
@@ -106,9 +110,13 @@ public class PlaceItemMessageComposerHandler implements IncomingMessageHandler {
                                                 userItem.getBaseItemId(),
                                                 userItem.getExtraData(), 0, 0, 0, 0, "", game);
                 
-                if (room.setFloorItem(client, roomItem, x, y, rot, true)) {
-                    habbo.getInventoryComponent().removeItem(itemId);
-                }
+                // Take it out of the inventory now so it can't be placed twice while queued
+                habbo.getInventoryComponent().removeItem(itemId);
+                room.submitCommand(() -> {
+                    if (!room.setFloorItem(client, roomItem, x, y, rot, true)) {
+                        returnToInventory(habbo, userItem);
+                    }
+                });
             }
         } catch (NumberFormatException e) {
             logger.warn("Invalid placement data format: {}", placementData);
@@ -116,4 +124,12 @@ public class PlaceItemMessageComposerHandler implements IncomingMessageHandler {
             logger.error("Error placing item: {}", e.getMessage(), e);
         }
     }
+    
+    /**
+     * Gives an item back after its placement was rejected. Runs on the tick thread, so the row
+     * is written asynchronously.
+     */
+    private static void returnToInventory(Habbo habbo, UserItem userItem) {
+        habbo.getInventoryComponent().addItemsAsync(java.util.List.of(userItem));
+    }
 }
@@ -62,9 +62,13 @@ public class ShoutMessageComposerHandler implements IncomingMessageHandler {
         // Log chat message
         LocalDateTime now = LocalDateTime.now();
         long timestamp = System.currentTimeMillis() / 1000;
-        game.getChatLogRepository().logChat(habbo.getId(), habbo.getCurrentRoomId(),
-                now.getHour(), now.getMinute(), timestamp, chatMessage,
-                habbo.getUsername(), now.toLocalDate().toString());
+        long userId = habbo.getId();
+        long roomId = habbo.getCurrentRoomId();
+        String username = habbo.getUsername();
+        String loggedMessage = chatMessage;
+        game.getChatLogRepositoryAsync().run(repo -> repo.logChat(userId, roomId,
+                now.getHour(), now.getMinute(), timestamp, loggedMessage,
+                username, now.toLocalDate().toString()));
         
         // Send shout message to room
         if (game.getRoomManager() != null) {
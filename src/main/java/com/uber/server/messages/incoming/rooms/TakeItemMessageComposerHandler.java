@@ -4,6 +4,7 @@ import com.uber.server.game.Game;
 import com.uber.server.game.GameClient;
 import com.uber.server.game.Habbo;
 import com.uber.server.game.items.RoomItem;
+import com.uber.server.game.users.inventory.UserItem;
 import com.uber.server.messages.ClientMessage;
 import com.uber.server.messages.incoming.IncomingMessageHandler;
 import org.slf4j.Logger;
@@ -48,21 +49,24 @@ public class TakeItemMessageComposerHandler implements IncomingMessageHandler {
             return;
         }
         
-        RoomItem item = room.getItem(itemId);
-        if (item == null) {
-            return;
-        }
-        
-        // Check if item can be picked up
-        String interactionType = item.getBaseItem() != null ? 
-                                item.getBaseItem().getInteractionType() : "";
-        if ("postit".equalsIgnoreCase(interactionType)) {
-            return; // Not allowed to pick up post-its
-        }
-        
-        // Remove from room and add to inventory
-        room.removeFurniture(client, itemId);
-        habbo.getInventoryComponent().addItem(item.getId(), item.getBaseItemId(), item.getExtraData());
-        habbo.getInventoryComponent().updateItems(false);
+        long takenItemId = itemId;
+        room.submitCommand(() -> {
+            RoomItem item = room.getItem(takenItemId);
+            if (item == null) {
+                return;
+            }
+            
+            // Check if item can be picked up
+            String interactionType = item.getBaseItem() != null ? 
+                                    item.getBaseItem().getInteractionType() : "";
+            if ("postit".equalsIgnoreCase(interactionType)) {
+                return; // Not allowed to pick up post-its
+            }
+            
+            // Remove from room and add to inventory; both rows are written off the tick thread
+            room.removeFurniture(client, takenItemId);
+            habbo.getInventoryComponent().addItemsAsync(java.util.List.of(
+                new UserItem(item.getId(), item.getBaseItemId(), item.getExtraData(), game.getItemManager())));
+        });
     }
 }
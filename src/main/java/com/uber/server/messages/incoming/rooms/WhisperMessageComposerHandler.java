@@ -65,9 +65,13 @@ public class WhisperMessageComposerHandler implements IncomingMessageHandler {
         // Log chat message
         LocalDateTime now = LocalDateTime.now();
         long timestamp = System.currentTimeMillis() / 1000;
-        game.getChatLogRepository().logChat(habbo.getId(), habbo.getCurrentRoomId(),
-                now.getHour(), now.getMinute(), timestamp, chatMessage,
-                habbo.getUsername(), now.toLocalDate().toString());
+        long userId = habbo.getId();
+        long roomId = habbo.getCurrentRoomId();
+        String username = habbo.getUsername();
+        String loggedMessage = chatMessage;
+        game.getChatLogRepositoryAsync().run(repo -> repo.logChat(userId, roomId,
+                now.getHour(), now.getMinute(), timestamp, loggedMessage,
+                username, now.toLocalDate().toString()));
         
         // Send whisper message to room (target user will be handled by room logic)
         if (game.getRoomManager() != null) {
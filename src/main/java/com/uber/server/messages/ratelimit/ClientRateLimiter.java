@@ -0,0 +1,203 @@
+package com.uber.server.messages.ratelimit;
+
+import com.uber.server.game.threading.GameThreadPool;
+import com.uber.server.messages.ClientMessage;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Per-client token buckets, checked before a message is queued for handling.
+ * Each rate limited class refills at its configured rate up to its burst size and every
+ * admitted message takes one token. Excess messages are dropped, or for coalescing classes
+ * held back so that only the newest one is delivered once a token is available again.
+ * While a message is held back, everything the client sends after it waits behind it and is
+ * handed to the client's message queue after it, so handlers still see arrival order.
+ */
+public class ClientRateLimiter {
+    private static final int MAX_BACKLOG = 64; // Messages waiting behind a held one
+    
+    private final PacketRateLimits limits;
+    private final Consumer<ClientMessage> deliver;
+    private final double[] tokens;
+    private final long[] lastRefill;
+    private final ClientMessage[] held; // Newest excess message per coalescing class
+    private final ArrayDeque<ClientMessage> backlog; // Arrived after a held message, in order
+    private int heldCount;
+    private int violations;
+    private boolean closed;
+    
+    /**
+     * @param limits Shared rate limit settings
+     * @param deliver Queues a held-back message for handling once it is admitted
+     */
+    public ClientRateLimiter(PacketRateLimits limits, Consumer<ClientMessage> deliver) {
+        int classes = RateLimitClass.values().length;
+        this.limits = limits;
+        this.deliver = deliver;
+        this.tokens = new double[classes];
+        this.lastRefill = new long[classes];
+        this.held = new ClientMessage[classes];
+        this.backlog = new ArrayDeque<>();
+        
+        long now = System.nanoTime();
+        for (RateLimitClass limitClass : RateLimitClass.values()) {
+            tokens[limitClass.ordinal()] = limits.getBurst(limitClass);
+            lastRefill[limitClass.ordinal()] = now;
+        }
+    }
+    
+    /**
+     * Checks a message against its bucket. Takes ownership of rejected messages.
+     * @param message Incoming message
+     * @return True if the message may be queued now; false if it was dropped or will be
+     *         delivered later
+     */
+    public synchronized boolean admit(ClientMessage message) {
+        if (heldCount > 0) {
+            return queueBehindHeld(message);
+        }
+        return admitNow(message);
+    }
+    
+    /**
+     * Checks if the client has exceeded the configured number of violations.
+     */
+    public synchronized boolean isAbusive() {
+        int threshold = limits.getDisconnectThreshold();
+        return threshold > 0 && violations >= threshold;
+    }
+    
+    public synchronized int getViolations() {
+        return violations;
+    }
+    
+    /**
+     * Releases held-back messages. Nothing is delivered afterwards.
+     */
+    public synchronized void close() {
+        closed = true;
+        for (int i = 0; i < held.length; i++) {
+            if (held[i] != null) {
+                held[i].release();
+                held[i] = null;
+            }
+        }
+        heldCount = 0;
+        
+        ClientMessage message;
+        while ((message = backlog.poll()) != null) {
+            message.release();
+        }
+    }
+    
+    /**
+     * Checks a message against its bucket while nothing is held back.
+     */
+    private boolean admitNow(ClientMessage message) {
+        if (!limits.isEnabled()) {
+            return true;
+        }
+        
+        RateLimitClass limitClass = limits.getLimitClass((int) message.getId());
+        if (limitClass == null) {
+            return true;
+        }
+        
+        if (takeToken(limitClass)) {
+            return true;
+        }
+        
+        violations++;
+        if (limitClass.isCoalesce() && !closed) {
+            held[limitClass.ordinal()] = message;
+            heldCount++;
+            limits.recordCoalesced(limitClass);
+            scheduleRelease(limitClass);
+        } else {
+            limits.recordDropped(limitClass);
+            message.release();
+        }
+        return false;
+    }
+    
+    /**
+     * Keeps a message that arrived while another is held back in order behind it. A newer
+     * message of a held class replaces the held one in its place.
+     */
+    private boolean queueBehindHeld(ClientMessage message) {
+        RateLimitClass limitClass = limits.getLimitClass((int) message.getId());
+        if (limitClass != null && held[limitClass.ordinal()] != null) {
+            int i = limitClass.ordinal();
+            held[i].release();
+            held[i] = message;
+            limits.recordCoalesced(limitClass);
+            return false;
+        }
+        
+        if (closed || backlog.size() >= MAX_BACKLOG) {
+            violations++;
+            if (limitClass != null) {
+                limits.recordDropped(limitClass);
+            }
+            message.release();
+            return false;
+        }
+        
+        backlog.add(message);
+        return false;
+    }
+    
+    private boolean takeToken(RateLimitClass limitClass) {
+        int i = limitClass.ordinal();
+        long now = System.nanoTime();
+        double burst = limits.getBurst(limitClass);
+        tokens[i] = Math.min(burst, tokens[i] + (now - lastRefill[i]) * limits.getRatePerNano(limitClass));
+        lastRefill[i] = now;
+        
+        if (tokens[i] >= 1.0) {
+            tokens[i] -= 1.0;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Schedules delivery of the held message for when the bucket has refilled one token.
+     */
+    private void scheduleRelease(RateLimitClass limitClass) {
+        int i = limitClass.ordinal();
+        double missing = 1.0 - tokens[i];
+        long delay = (long) Math.ceil(missing / limits.getRatePerNano(limitClass));
+        GameThreadPool.getInstance().getGameExecutor().schedule(() -> releaseHeld(limitClass),
+            Math.max(delay, 1), TimeUnit.NANOSECONDS);
+    }
+    
+    private void releaseHeld(RateLimitClass limitClass) {
+        synchronized (this) {
+            int i = limitClass.ordinal();
+            ClientMessage message = held[i];
+            if (message == null || closed) {
+                return;
+            }
+            if (!takeToken(limitClass)) {
+                scheduleRelease(limitClass);
+                return;
+            }
+            held[i] = null;
+            heldCount--;
+            
+            // Delivered under the lock so nothing admitted meanwhile can overtake it
+            deliver.accept(message);
+            
+            // Then whatever arrived behind it, until something has to be held back again
+            while (heldCount == 0 && !backlog.isEmpty()) {
+                ClientMessage next = backlog.poll();
+                if (admitNow(next)) {
+                    deliver.accept(next);
+                }
+            }
+        }
+    }
+}
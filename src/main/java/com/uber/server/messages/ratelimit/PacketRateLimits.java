@@ -0,0 +1,122 @@
+package com.uber.server.messages.ratelimit;
+
+import com.uber.server.config.Configuration;
+import com.uber.server.messages.PacketHandlerRegistry;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared rate limit settings and violation counters.
+ * Maps message IDs to their {@link RateLimitClass} through a flat lookup table; the per-client
+ * bucket state lives in {@link ClientRateLimiter}.
+ */
+public class PacketRateLimits {
+    private static final RateLimitClass[] CLASSES = RateLimitClass.values();
+    
+    private final byte[] classByMessageId; // RateLimitClass ordinal, or -1 if unlimited
+    private final double[] rates; // Tokens per nanosecond, by class ordinal
+    private final double[] bursts;
+    private final LongAdder[] dropped;
+    private final LongAdder[] coalesced;
+    private volatile boolean enabled = true;
+    private volatile int disconnectThreshold; // Violations before a client is disconnected, 0 = never
+    
+    public PacketRateLimits() {
+        RateLimitClass[] classes = CLASSES;
+        this.classByMessageId = new byte[PacketHandlerRegistry.HIGHEST_MESSAGE_ID + 1];
+        this.rates = new double[classes.length];
+        this.bursts = new double[classes.length];
+        this.dropped = new LongAdder[classes.length];
+        this.coalesced = new LongAdder[classes.length];
+        
+        Arrays.fill(classByMessageId, (byte) -1);
+        for (RateLimitClass limitClass : classes) {
+            int i = limitClass.ordinal();
+            for (int messageId : limitClass.getMessageIds()) {
+                classByMessageId[messageId] = (byte) i;
+            }
+            setLimit(limitClass, limitClass.getDefaultRate(), limitClass.getDefaultBurst());
+            dropped[i] = new LongAdder();
+            coalesced[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * Loads rate limits from configuration.
+     * Missing or invalid values keep their defaults.
+     * @param config Server configuration
+     */
+    public void configure(Configuration config) {
+        if (config.containsKey("ratelimit.enabled")) {
+            enabled = config.getBoolean("ratelimit.enabled");
+        }
+        disconnectThreshold = Math.max(0, config.getInt("ratelimit.disconnect"));
+        
+        for (RateLimitClass limitClass : RateLimitClass.values()) {
+            int rate = config.getInt("ratelimit." + limitClass.getConfigName() + ".rate");
+            int burst = config.getInt("ratelimit." + limitClass.getConfigName() + ".burst");
+            setLimit(limitClass,
+                rate > 0 ? rate : limitClass.getDefaultRate(),
+                burst > 0 ? burst : limitClass.getDefaultBurst());
+        }
+    }
+    
+    private void setLimit(RateLimitClass limitClass, int perSecond, int burst) {
+        rates[limitClass.ordinal()] = perSecond / 1_000_000_000.0;
+        bursts[limitClass.ordinal()] = burst;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public int getDisconnectThreshold() {
+        return disconnectThreshold;
+    }
+    
+    /**
+     * Gets the rate limit class for a message ID.
+     * @param messageId Message ID
+     * @return Class, or null if the message is not rate limited
+     */
+    public RateLimitClass getLimitClass(int messageId) {
+        if (messageId < 0 || messageId >= classByMessageId.length) {
+            return null;
+        }
+        int ordinal = classByMessageId[messageId];
+        return ordinal < 0 ? null : CLASSES[ordinal];
+    }
+    
+    double getRatePerNano(RateLimitClass limitClass) {
+        return rates[limitClass.ordinal()];
+    }
+    
+    double getBurst(RateLimitClass limitClass) {
+        return bursts[limitClass.ordinal()];
+    }
+    
+    void recordDropped(RateLimitClass limitClass) {
+        dropped[limitClass.ordinal()].increment();
+    }
+    
+    void recordCoalesced(RateLimitClass limitClass) {
+        coalesced[limitClass.ordinal()].increment();
+    }
+    
+    public long getDropped(RateLimitClass limitClass) {
+        return dropped[limitClass.ordinal()].sum();
+    }
+    
+    public long getCoalesced(RateLimitClass limitClass) {
+        return coalesced[limitClass.ordinal()].sum();
+    }
+    
+    public int getRate(RateLimitClass limitClass) {
+        return (int) Math.round(rates[limitClass.ordinal()] * 1_000_000_000.0);
+    }
+    
+    public int getBurstSize(RateLimitClass limitClass) {
+        return (int) bursts[limitClass.ordinal()];
+    }
+}
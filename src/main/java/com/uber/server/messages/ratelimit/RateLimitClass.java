@@ -0,0 +1,54 @@
+package com.uber.server.messages.ratelimit;
+
+/**
+ * Message classes with their own per-client token bucket.
+ * Rates are tokens per second, burst is the bucket size; both can be overridden with
+ * ratelimit.[name].rate and ratelimit.[name].burst in the configuration file.
+ */
+public enum RateLimitClass {
+    /** Walk requests; excess requests are coalesced so only the latest target is kept. */
+    MOVE("move", 6, 10, true, 75),
+    /** Talk, shout and whisper. */
+    CHAT("chat", 2, 6, false, 52, 55, 56),
+    /** Furniture interaction (TriggerItemHandler). */
+    TRIGGER("trigger", 5, 10, false, 76, 232, 247, 314, 392, 393),
+    /** Navigator, user and help searches that hit the database. */
+    SEARCH("search", 1, 5, false, 41, 419, 430, 431, 432, 433, 434, 435, 436, 437, 438, 439);
+    
+    private final String configName;
+    private final int defaultRate;
+    private final int defaultBurst;
+    private final boolean coalesce;
+    private final int[] messageIds;
+    
+    RateLimitClass(String configName, int defaultRate, int defaultBurst, boolean coalesce, int... messageIds) {
+        this.configName = configName;
+        this.defaultRate = defaultRate;
+        this.defaultBurst = defaultBurst;
+        this.coalesce = coalesce;
+        this.messageIds = messageIds;
+    }
+    
+    public String getConfigName() {
+        return configName;
+    }
+    
+    public int getDefaultRate() {
+        return defaultRate;
+    }
+    
+    public int getDefaultBurst() {
+        return defaultBurst;
+    }
+    
+    /**
+     * Checks if excess messages of this class are coalesced (latest kept) instead of dropped.
+     */
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+    
+    public int[] getMessageIds() {
+        return messageIds;
+    }
+}
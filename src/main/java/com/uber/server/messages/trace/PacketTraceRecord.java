@@ -0,0 +1,98 @@
+package com.uber.server.messages.trace;
+
+import java.time.Instant;
+
+/**
+ * A single traced packet: raw body bytes plus who and where it belonged to.
+ */
+public class PacketTraceRecord {
+    private final Instant time;
+    private final boolean incoming;
+    private final long connectionId;
+    private final long habboId;
+    private final long roomId;
+    private final int messageId;
+    private final int length;
+    private final byte[] body; // At most the first MAX_BODY_BYTES bytes
+    private long sequence;
+    
+    public PacketTraceRecord(boolean incoming, long connectionId, long habboId, long roomId,
+                             int messageId, int length, byte[] body) {
+        this.time = Instant.now();
+        this.incoming = incoming;
+        this.connectionId = connectionId;
+        this.habboId = habboId;
+        this.roomId = roomId;
+        this.messageId = messageId;
+        this.length = length;
+        this.body = body;
+    }
+    
+    public Instant getTime() {
+        return time;
+    }
+    
+    public boolean isIncoming() {
+        return incoming;
+    }
+    
+    public long getConnectionId() {
+        return connectionId;
+    }
+    
+    public long getHabboId() {
+        return habboId;
+    }
+    
+    public long getRoomId() {
+        return roomId;
+    }
+    
+    public int getMessageId() {
+        return messageId;
+    }
+    
+    public int getLength() {
+        return length;
+    }
+    
+    public byte[] getBody() {
+        return body;
+    }
+    
+    long getSequence() {
+        return sequence;
+    }
+    
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+    
+    /**
+     * Formats the record as one line, with control characters shown as [n].
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder(64 + body.length);
+        sb.append(time).append(' ')
+          .append(incoming ? "-->" : "<--")
+          .append(" conn=").append(connectionId)
+          .append(" user=").append(habboId)
+          .append(" room=").append(roomId)
+          .append(" id=").append(messageId)
+          .append(" len=").append(length)
+          .append(" | ");
+        
+        for (byte b : body) {
+            int c = b & 0xFF;
+            if (c < 14) {
+                sb.append('[').append(c).append(']');
+            } else {
+                sb.append((char) c);
+            }
+        }
+        if (body.length < length) {
+            sb.append(" ...");
+        }
+        return sb.toString();
+    }
+}
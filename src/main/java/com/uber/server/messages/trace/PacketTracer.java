@@ -0,0 +1,221 @@
+package com.uber.server.messages.trace;
+
+import com.uber.server.messages.ClientMessage;
+import com.uber.server.messages.ServerMessage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded in-memory trace of raw packets, replacing per-packet logging.
+ * Tracing is off by default and costs a single volatile read per packet while off. When on,
+ * packets matching the active filters (user, room or message ID, or everything) are copied
+ * into a fixed-size ring buffer, overwriting the oldest records. Formatting only happens
+ * when the buffer is dumped.
+ */
+public class PacketTracer {
+    private static final PacketTracer INSTANCE = new PacketTracer();
+    private static final int CAPACITY = 8192; // Power of two
+    private static final int MAX_BODY_BYTES = 512; // Longer bodies are truncated
+    
+    private final AtomicReferenceArray<PacketTraceRecord> records;
+    private final AtomicLong sequence;
+    private final Set<Long> users;
+    private final Set<Long> rooms;
+    private final Set<Integer> messageIds;
+    private volatile boolean enabled;
+    private volatile boolean traceAll;
+    
+    private PacketTracer() {
+        this.records = new AtomicReferenceArray<>(CAPACITY);
+        this.sequence = new AtomicLong(0);
+        this.users = ConcurrentHashMap.newKeySet();
+        this.rooms = ConcurrentHashMap.newKeySet();
+        this.messageIds = ConcurrentHashMap.newKeySet();
+    }
+    
+    /**
+     * Gets the singleton instance.
+     * @return PacketTracer instance
+     */
+    public static PacketTracer getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Checks if tracing is on. Callers check this before gathering anything for a record.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Traces every packet.
+     */
+    public void traceAll() {
+        traceAll = true;
+        enabled = true;
+    }
+    
+    /**
+     * Adds a user to the trace filter and turns tracing on.
+     */
+    public void traceUser(long habboId) {
+        users.add(habboId);
+        enabled = true;
+    }
+    
+    /**
+     * Adds a room to the trace filter and turns tracing on.
+     */
+    public void traceRoom(long roomId) {
+        rooms.add(roomId);
+        enabled = true;
+    }
+    
+    /**
+     * Adds a message ID to the trace filter and turns tracing on.
+     */
+    public void traceMessage(int messageId) {
+        messageIds.add(messageId);
+        enabled = true;
+    }
+    
+    /**
+     * Turns tracing off and clears all filters. Recorded packets are kept until cleared.
+     */
+    public void disable() {
+        enabled = false;
+        traceAll = false;
+        users.clear();
+        rooms.clear();
+        messageIds.clear();
+    }
+    
+    /**
+     * Discards all recorded packets.
+     */
+    public void clear() {
+        for (int i = 0; i < CAPACITY; i++) {
+            records.set(i, null);
+        }
+    }
+    
+    /**
+     * Records an incoming message if it matches the filters.
+     * @param connectionId Connection ID
+     * @param habboId User ID, or 0 if not logged in
+     * @param roomId Current room ID, or 0
+     * @param message Incoming message (its pointer must be at the start of the body)
+     */
+    public void traceIncoming(long connectionId, long habboId, long roomId, ClientMessage message) {
+        int messageId = (int) message.getId();
+        if (!matches(habboId, roomId, messageId)) {
+            return;
+        }
+        
+        int length = message.getLength();
+        byte[] body = message.plainReadBytes(Math.min(length, MAX_BODY_BYTES));
+        add(new PacketTraceRecord(true, connectionId, habboId, roomId, messageId, length, body));
+    }
+    
+    /**
+     * Records an outgoing message if it matches the filters.
+     * @param connectionId Connection ID, or 0 for a room broadcast
+     * @param habboId User ID, or 0 for a room broadcast
+     * @param roomId Room ID, or 0
+     * @param message Outgoing message
+     * @return True if the message was recorded
+     */
+    public boolean traceOutgoing(long connectionId, long habboId, long roomId, ServerMessage message) {
+        int messageId = (int) message.getId();
+        if (!matches(habboId, roomId, messageId)) {
+            return false;
+        }
+        
+        int length = message.getLength();
+        byte[] body = new byte[Math.min(length, MAX_BODY_BYTES)];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = message.getBodyByte(i);
+        }
+        add(new PacketTraceRecord(false, connectionId, habboId, roomId, messageId, length, body));
+        return true;
+    }
+    
+    /**
+     * Checks if any user filter is set, i.e. whether room broadcasts need tracing per recipient.
+     */
+    public boolean hasUserFilters() {
+        return !users.isEmpty();
+    }
+    
+    /**
+     * Gets the recorded packets, oldest first.
+     */
+    public List<PacketTraceRecord> snapshot() {
+        long end = sequence.get();
+        long start = Math.max(0, end - CAPACITY);
+        List<PacketTraceRecord> result = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            PacketTraceRecord record = records.get((int) (seq & (CAPACITY - 1)));
+            if (record != null && record.getSequence() == seq) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Writes the recorded packets to a file, oldest first.
+     * @param file Destination file
+     * @return Number of records written
+     */
+    public int dump(Path file) throws IOException {
+        List<PacketTraceRecord> snapshot = snapshot();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (PacketTraceRecord record : snapshot) {
+                writer.write(record.format());
+                writer.newLine();
+            }
+        }
+        return snapshot.size();
+    }
+    
+    /**
+     * Describes the current trace state for the console.
+     */
+    public String describe() {
+        if (!enabled) {
+            return "off";
+        }
+        if (traceAll) {
+            return "all packets";
+        }
+        return "users=" + users + " rooms=" + rooms + " messages=" + messageIds;
+    }
+    
+    private boolean matches(long habboId, long roomId, int messageId) {
+        if (!enabled) {
+            return false;
+        }
+        return traceAll
+            || (habboId > 0 && users.contains(habboId))
+            || (roomId > 0 && rooms.contains(roomId))
+            || messageIds.contains(messageId);
+    }
+    
+    private void add(PacketTraceRecord record) {
+        long seq = sequence.getAndIncrement();
+        record.setSequence(seq);
+        records.set((int) (seq & (CAPACITY - 1)), record);
+    }
+}
@@ -7,6 +7,7 @@ import com.uber.server.messages.ServerMessage;
 import com.uber.server.game.rooms.Room;
 import com.uber.server.game.items.RoomItem;
 import com.uber.server.game.rooms.RoomUser;
+import com.uber.server.game.users.inventory.UserItem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -177,14 +178,20 @@ public class ChatCommandHandler {
                 case "pickall":
                     targetRoom = game.getRoomManager().getRoom(habbo.getCurrentRoomId());
                     if (targetRoom != null && targetRoom.checkRights(session, true)) {
-                        List<RoomItem> toRemove = new ArrayList<>(targetRoom.getItems().values());
-                        
-                        for (RoomItem item : toRemove) {
-                            targetRoom.removeFurniture(session, item.getId());
-                            habbo.getInventoryComponent().addItem(item.getId(), item.getBaseItem().getId(), item.getExtraData());
-                        }
-                        
-                        habbo.getInventoryComponent().updateItems(true);
+                        Room pickallRoom = targetRoom;
+                        pickallRoom.submitCommand(() -> {
+                            List<RoomItem> toRemove = new ArrayList<>(pickallRoom.getItems().values());
+                            List<UserItem> picked = new ArrayList<>(toRemove.size());
+                            
+                            for (RoomItem item : toRemove) {
+                                pickallRoom.removeFurniture(session, item.getId());
+                                picked.add(new UserItem(item.getId(), item.getBaseItemId(), item.getExtraData(), game.getItemManager()));
+                            }
+                            
+                            // Only the in-memory removal happens here; the database executor deletes the
+                            // room rows per item and inserts the inventory rows in one batch
+                            habbo.getInventoryComponent().addItemsAsync(picked);
+                        });
                         return true;
                     }
                     return false;
@@ -52,11 +52,6 @@ public class LowPriorityWorker {
                     game.getUserRepository().updateServerStatus(status);
                 }
                 
-                // Effects
-                if (game.getClientManager() != null) {
-                    game.getClientManager().checkEffects();
-                }
-                
                 // Sleep for 30 seconds
                 Thread.sleep(30000);
             } catch (InterruptedException e) {
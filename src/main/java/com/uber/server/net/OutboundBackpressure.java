@@ -0,0 +1,121 @@
+package com.uber.server.net;
+
+import com.uber.server.config.Configuration;
+import io.netty.channel.Channel;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.group.ChannelMatcher;
+import io.netty.util.AttributeKey;
+
+/**
+ * Outbound budget and message priority rules for client connections.
+ * Each channel gets a write buffer water mark; once a client's pending outbound bytes pass the
+ * high mark the channel turns unwritable. Droppable messages (state that a later message
+ * supersedes) are then skipped for that client instead of queued, and a client that stays
+ * unwritable for longer than the configured threshold is disconnected.
+ */
+public final class OutboundBackpressure {
+    /** UserStatusUpdateEvent - superseded by the next status update. */
+    public static final int STATUS_UPDATE_MESSAGE_ID = 34;
+    /** UserTypingMessageEvent - cosmetic typing indicator. */
+    public static final int TYPING_MESSAGE_ID = 361;
+    
+    private static final int DEFAULT_LOW_WATER_MARK = 32 * 1024;
+    private static final int DEFAULT_HIGH_WATER_MARK = 128 * 1024;
+    private static final int DEFAULT_MAX_UNWRITABLE_MILLIS = 15000;
+    
+    /** Set on a channel when a status update was dropped, so a full snapshot is sent on recovery. */
+    public static final AttributeKey<Boolean> STATUS_STALE = AttributeKey.valueOf("statusStale");
+    
+    private static final ChannelMatcher STATUS_UPDATE_MATCHER = channel -> acceptDroppable(channel, STATUS_UPDATE_MESSAGE_ID);
+    private static final ChannelMatcher TYPING_MATCHER = channel -> acceptDroppable(channel, TYPING_MESSAGE_ID);
+    
+    private static volatile int lowWaterMark = DEFAULT_LOW_WATER_MARK;
+    private static volatile int highWaterMark = DEFAULT_HIGH_WATER_MARK;
+    private static volatile int maxUnwritableMillis = DEFAULT_MAX_UNWRITABLE_MILLIS;
+    
+    private OutboundBackpressure() {
+        // Utility class
+    }
+    
+    /**
+     * Loads the outbound budget from configuration.
+     * Missing or invalid values keep their defaults.
+     * @param config Server configuration
+     */
+    public static void configure(Configuration config) {
+        int low = config.getInt("client.outbound.lowwater");
+        int high = config.getInt("client.outbound.highwater");
+        int maxUnwritable = config.getInt("client.outbound.maxunwritable");
+        
+        if (low > 0 && high > low) {
+            lowWaterMark = low;
+            highWaterMark = high;
+        }
+        if (maxUnwritable > 0) {
+            maxUnwritableMillis = maxUnwritable;
+        }
+    }
+    
+    /**
+     * Gets the per-channel write buffer water mark.
+     */
+    public static WriteBufferWaterMark getWaterMark() {
+        return new WriteBufferWaterMark(lowWaterMark, highWaterMark);
+    }
+    
+    /**
+     * Gets how long a channel may stay unwritable before it is disconnected.
+     */
+    public static int getMaxUnwritableMillis() {
+        return maxUnwritableMillis;
+    }
+    
+    /**
+     * Checks if a message may be dropped for a congested client.
+     * @param messageId Outgoing message ID
+     * @return True if a later message supersedes it or it is purely cosmetic
+     */
+    public static boolean isDroppable(long messageId) {
+        return messageId == STATUS_UPDATE_MESSAGE_ID || messageId == TYPING_MESSAGE_ID;
+    }
+    
+    /**
+     * Gets a group matcher that skips congested channels for a droppable message.
+     * @param messageId Outgoing message ID
+     * @return Matcher, or null if the message must reach every channel
+     */
+    public static ChannelMatcher getDroppableMatcher(long messageId) {
+        if (messageId == STATUS_UPDATE_MESSAGE_ID) {
+            return STATUS_UPDATE_MATCHER;
+        }
+        if (messageId == TYPING_MESSAGE_ID) {
+            return TYPING_MATCHER;
+        }
+        return null;
+    }
+    
+    /**
+     * Checks if a droppable message should be written to a channel, recording the drop if not.
+     * @param channel Target channel
+     * @param messageId Outgoing message ID
+     * @return True if the channel is writable
+     */
+    public static boolean acceptDroppable(Channel channel, long messageId) {
+        if (channel.isWritable()) {
+            return true;
+        }
+        markDropped(channel, messageId);
+        return false;
+    }
+    
+    /**
+     * Records that a droppable message was skipped for a channel.
+     * @param channel Congested channel
+     * @param messageId ID of the skipped message
+     */
+    private static void markDropped(Channel channel, long messageId) {
+        if (messageId == STATUS_UPDATE_MESSAGE_ID) {
+            channel.attr(STATUS_STALE).set(Boolean.TRUE);
+        }
+    }
+}
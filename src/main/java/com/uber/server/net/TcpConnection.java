@@ -1,7 +1,6 @@
 package com.uber.server.net;
 
 import com.uber.server.messages.ServerMessage;
-import com.uber.server.encoding.base64.Base64Encoding;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import org.slf4j.Logger;
@@ -173,22 +172,17 @@ public class TcpConnection {
             return;
         }
         
-        if (logger.isDebugEnabled()) {
-            try {
-                int messageId = Base64Encoding.decodeInt32(message.getHeader().getBytes());
-                String bodyStr = message.toBodyString();
-                String formattedBody = formatLogMessage(bodyStr);
-                logger.debug("[{}] <-- {} / {}", id, messageId, formattedBody);
-            } catch (Exception e) {
-                logger.debug("Failed to log message: {}", e.getMessage());
-            }
-        }
-        
         if (channel == null || !channel.isActive()) {
             connectionDead();
             return;
         }
         
+        // Skip superseded or cosmetic messages while the client is not keeping up
+        if (OutboundBackpressure.isDroppable(message.getId())
+                && !OutboundBackpressure.acceptDroppable(channel, message.getId())) {
+            return;
+        }
+        
         try {
             // Send ServerMessage directly - the encoder will handle it
             ChannelFuture future = channel.writeAndFlush(message);
@@ -206,16 +200,6 @@ public class TcpConnection {
         }
     }
     
-    /**
-     * Formats log message by replacing control characters.
-     */
-    private String formatLogMessage(String message) {
-        for (int i = 0; i < 14; i++) {
-            message = message.replace(String.valueOf((char) i), "[" + i + "]");
-        }
-        return message;
-    }
-    
     /**
      * Called when the connection is dead.
      */
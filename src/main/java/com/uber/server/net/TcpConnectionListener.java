@@ -69,6 +69,7 @@ public class TcpConnectionListener {
                     .childOption(ChannelOption.SO_RCVBUF, BUFFER_SIZE)
                     .childOption(ChannelOption.RCVBUF_ALLOCATOR, new FixedRecvByteBufAllocator(BUFFER_SIZE))
                     .childOption(ChannelOption.ALLOCATOR, new PooledByteBufAllocator(true))
+                    .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, OutboundBackpressure.getWaterMark())
                     .childHandler(new ChannelInitializer<SocketChannel>() {
                         @Override
                         protected void initChannel(SocketChannel ch) throws Exception {
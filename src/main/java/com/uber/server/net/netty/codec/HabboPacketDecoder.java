@@ -1,7 +1,7 @@
 package com.uber.server.net.netty.codec;
 
-import com.uber.server.messages.ClientMessage;
 import com.uber.server.encoding.base64.Base64Encoding;
+import com.uber.server.messages.ClientMessage;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
@@ -24,36 +24,16 @@ public class HabboPacketDecoder extends ByteToMessageDecoder {
     
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
-        // Check minimum packet size
-        if (in.readableBytes() < MIN_PACKET_SIZE) {
-            return; // Not enough data yet
-        }
-        
-        // Check for cross-domain policy request (Flash clients)
-        // Policy requests start with '<' (0x3C) or other non-Base64 characters
-        // Base64 encoding starts at 0x40 ('@'), so bytes < 0x40 are likely policy requests
-        in.markReaderIndex();
-        
-        byte firstByte = in.readByte();
-        if (firstByte != 64) {
-            // This is a cross-domain policy request
-            in.resetReaderIndex();
-            handleCrossDomainPolicy(ctx, in);
-            return;
-        }
-        
-        in.resetReaderIndex();
+        // Cross-domain policy requests are answered by PolicyRequestDecoder before this runs
         
         // Parse batched messages until buffer is exhausted
         while (in.readableBytes() >= MIN_PACKET_SIZE) {
-            in.markReaderIndex();
+            int readerIndex = in.readerIndex();
             
             try {
                 // Parse message: [3 bytes: Base64 length][2 bytes: Base64 message ID][body]
-                // Decode message length (3 bytes Base64)
-                byte[] lengthBytes = new byte[3];
-                in.readBytes(lengthBytes);
-                int messageLength = Base64Encoding.decodeInt32(lengthBytes);
+                // Decode message length (3 bytes Base64) in place
+                int messageLength = Base64Encoding.decodeInt32(in, readerIndex, 3);
                 
                 // Validate message length (must be at least 2 for the ID bytes, reasonable max)
                 // Check for negative values and integer overflow issues
@@ -63,40 +43,34 @@ public class HabboPacketDecoder extends ByteToMessageDecoder {
                 }
                 
                 // Check if we have enough data in buffer for the full message
-                if (in.readableBytes() < messageLength) {
-                    // Not enough data yet, reset reader index and wait for more data
-                    in.resetReaderIndex();
+                if (in.readableBytes() - 3 < messageLength) {
+                    // Not enough data yet, wait for more data
                     return;
                 }
                 
                 // Decode message ID (2 bytes Base64)
-                byte[] idBytes = new byte[2];
-                in.readBytes(idBytes);
-                long messageId = Base64Encoding.decodeUInt32(idBytes);
+                long messageId = Integer.toUnsignedLong(Base64Encoding.decodeInt32(in, readerIndex + 3, 2));
                 
                 // Extract message body (remaining bytes after ID)
                 int bodyLength = messageLength - 2;
                 
-                // Validate body length before allocation (prevent integer underflow and excessive allocation)
+                // Validate body length (prevent integer underflow)
                 if (bodyLength < 0 || bodyLength > MAX_BODY_LENGTH) {
                     logger.warn("Invalid body length: {} (messageLength: {}) (connection: {})", 
                         bodyLength, messageLength, ctx.channel().remoteAddress());
                     break; // Skip invalid packet
                 }
                 
-                // Allocate body array (now safe - bodyLength is validated)
-                byte[] body = new byte[bodyLength];
-                in.readBytes(body);
+                in.skipBytes(MIN_PACKET_SIZE);
                 
-                // Create ClientMessage and add to output list
-                ClientMessage message = new ClientMessage(messageId, body);
+                // The body is a retained slice of the inbound buffer, released once the message is handled
+                ClientMessage message = new ClientMessage(messageId, in.readRetainedSlice(bodyLength));
                 out.add(message);
                 
             } catch (Exception e) {
                 logger.warn("Error decoding packet (connection: {}): {}", ctx.channel().remoteAddress(), e.getMessage());
-                // Reset to mark and skip this invalid packet
-                in.resetReaderIndex();
-                // Skip one byte and try again
+                // Reset to the start of this packet and skip one byte to try again
+                in.readerIndex(readerIndex);
                 if (in.readableBytes() > 0) {
                     in.skipBytes(1);
                 }
@@ -108,43 +82,6 @@ public class HabboPacketDecoder extends ByteToMessageDecoder {
         }
     }
     
-    /**
-     * Handles cross-domain policy requests from Flash clients.
-     * Based on Havana NetworkDecoder implementation.
-     */
-    private void handleCrossDomainPolicy(ChannelHandlerContext ctx, ByteBuf in) {
-        try {
-            int readableBytes = in.readableBytes();
-            // Limit policy request size to prevent excessive memory allocation
-            // Policy requests are typically very short (< 100 bytes)
-            if (readableBytes > 1024) {
-                logger.warn("Policy request too large: {} bytes (connection: {})", 
-                    readableBytes, ctx.channel().remoteAddress());
-                ctx.close();
-                return;
-            }
-            
-            // Read and discard the policy request
-            in.skipBytes(readableBytes);
-            
-            // Send cross-domain policy response
-            // The policy file allows Flash clients to connect
-            String policyResponse = """
-                <?xml version="1.0"?>\r
-                <!DOCTYPE cross-domain-policy SYSTEM "/xml/dtds/cross-domain-policy.dtd">\r
-                <cross-domain-policy>\r
-                <allow-access-from domain="*" to-ports="*" />\r
-                </cross-domain-policy>\0""";
-            
-            ctx.channel().writeAndFlush(policyResponse);
-            ctx.close();
-
-        } catch (Exception e) {
-            logger.warn("Error handling cross-domain policy request: {}", e.getMessage());
-            ctx.close();
-        }
-    }
-    
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
         cause.printStackTrace();
@@ -12,10 +12,26 @@ import java.nio.charset.StandardCharsets;
 /**
  * Netty encoder for Habbo protocol packets.
  * Encodes ServerMessage to bytes in format: [2 bytes: Base64 ID][body][1 byte: terminator 0x01]
+ * Frames are copied straight from the message buffer into a pooled, exactly sized ByteBuf.
  */
 public class HabboPacketEncoder extends MessageToByteEncoder<Object> {
     private static final Logger logger = LoggerFactory.getLogger(HabboPacketEncoder.class);
     
+    @Override
+    public boolean acceptOutboundMessage(Object msg) throws Exception {
+        // Pre-encoded frames (e.g. room broadcasts) pass straight through to the socket
+        return msg instanceof ServerMessage || msg instanceof String;
+    }
+    
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object obj, boolean preferDirect) throws Exception {
+        // Size the pooled buffer to the exact frame so the encoder never has to grow it
+        if (obj instanceof ServerMessage msg) {
+            return ctx.alloc().ioBuffer(msg.getFrameLength());
+        }
+        return super.allocateBuffer(ctx, obj, preferDirect);
+    }
+    
     @Override
     protected void encode(ChannelHandlerContext ctx, Object obj, ByteBuf out) throws Exception {
         if (obj == null) {
@@ -23,15 +39,13 @@ public class HabboPacketEncoder extends MessageToByteEncoder<Object> {
         }
 
         try {
-            byte[] messageBytes = null;
-
-            if (obj instanceof ServerMessage msg)
-                messageBytes = msg.getBytes();
-
-            if (obj instanceof String msgStr)
-                messageBytes = msgStr.getBytes(StandardCharsets.UTF_8);
-
-            out.writeBytes(messageBytes);
+            if (obj instanceof ServerMessage msg) {
+                msg.writeTo(out);
+            } else if (obj instanceof String msgStr) {
+                out.writeCharSequence(msgStr, StandardCharsets.UTF_8);
+            } else {
+                logger.warn("Cannot encode message of type {}", obj.getClass().getName());
+            }
 
         } catch (Exception e) {
             logger.error("Error encoding message: {}", e.getMessage(), e);
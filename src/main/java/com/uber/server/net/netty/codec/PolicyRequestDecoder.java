@@ -0,0 +1,73 @@
+package com.uber.server.net.netty.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+
+/**
+ * One-shot decoder that answers Flash cross-domain policy requests.
+ * Inspects only the first byte of a connection: game packets start with '@' (the first
+ * Base64 length byte), anything else is treated as a policy request. Once a game packet
+ * is seen the handler removes itself, so the packet decoder never has to sniff again.
+ * Based on Havana NetworkDecoder implementation.
+ */
+public class PolicyRequestDecoder extends ByteToMessageDecoder {
+    private static final Logger logger = LogManager.getLogger(PolicyRequestDecoder.class);
+    private static final int MAX_POLICY_REQUEST_LENGTH = 1024;
+    private static final String POLICY_RESPONSE = """
+        <?xml version="1.0"?>\r
+        <!DOCTYPE cross-domain-policy SYSTEM "/xml/dtds/cross-domain-policy.dtd">\r
+        <cross-domain-policy>\r
+        <allow-access-from domain="*" to-ports="*" />\r
+        </cross-domain-policy>\0""";
+    
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        if (!in.isReadable()) {
+            return;
+        }
+        
+        // Base64 encoding starts at 0x40 ('@'), so anything else is a policy request
+        if (in.getByte(in.readerIndex()) == 64) {
+            // Remaining bytes are handed on to the packet decoder
+            ctx.pipeline().remove(this);
+            return;
+        }
+        
+        handleCrossDomainPolicy(ctx, in);
+    }
+    
+    /**
+     * Handles cross-domain policy requests from Flash clients.
+     */
+    private void handleCrossDomainPolicy(ChannelHandlerContext ctx, ByteBuf in) {
+        try {
+            int readableBytes = in.readableBytes();
+            // Limit policy request size to prevent excessive memory allocation
+            // Policy requests are typically very short (< 100 bytes)
+            if (readableBytes > MAX_POLICY_REQUEST_LENGTH) {
+                logger.warn("Policy request too large: {} bytes (connection: {})",
+                    readableBytes, ctx.channel().remoteAddress());
+                in.skipBytes(readableBytes);
+                ctx.close();
+                return;
+            }
+            
+            // Read and discard the policy request
+            in.skipBytes(readableBytes);
+            
+            // Send cross-domain policy response
+            // The policy file allows Flash clients to connect
+            ctx.channel().writeAndFlush(POLICY_RESPONSE);
+            ctx.close();
+            
+        } catch (Exception e) {
+            logger.warn("Error handling cross-domain policy request: {}", e.getMessage());
+            ctx.close();
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package com.uber.server.net.netty.handler;
 
 import com.uber.server.game.GameClient;
+import com.uber.server.game.Game;
 import com.uber.server.game.GameClientManager;
+import com.uber.server.game.GameEnvironment;
+import com.uber.server.game.rooms.Room;
 import com.uber.server.messages.ClientMessage;
+import com.uber.server.messages.ServerMessage;
+import com.uber.server.net.OutboundBackpressure;
 import com.uber.server.net.TcpConnectionManager;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.AttributeKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Netty channel handler for Habbo protocol.
  * Routes ClientMessage to GameClient for processing.
@@ -20,6 +30,7 @@ public class HabboChannelHandler extends ChannelInboundHandlerAdapter {
     
     private final TcpConnectionManager connectionManager;
     private final GameClientManager gameClientManager;
+    private long unwritableSince; // Nanotime the channel last became unwritable, 0 while writable
     
     public HabboChannelHandler(TcpConnectionManager connectionManager, GameClientManager gameClientManager) {
         this.connectionManager = connectionManager;
@@ -42,11 +53,11 @@ public class HabboChannelHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         if (msg instanceof ClientMessage message) {
-            
             // Get connection ID from channel attributes
             Long connectionId = ctx.channel().attr(CONNECTION_ID_KEY).get();
             if (connectionId == null) {
                 logger.warn("Received message but no connection ID found");
+                message.release();
                 return;
             }
             
@@ -54,16 +65,94 @@ public class HabboChannelHandler extends ChannelInboundHandlerAdapter {
             GameClient client = gameClientManager.getClient(connectionId);
             if (client == null) {
                 logger.warn("Received message for unknown client {}", connectionId);
+                message.release();
                 return;
             }
             
-            // Route message to GameClient
-            client.handleMessage(message);
+            // Hand the message to the client's queue; handlers run off the I/O thread
+            if (!client.queueMessage(message) && ctx.channel().isActive()) {
+                logger.warn("Message rejected for connection {} (queue full or rate limit abuse), disconnecting", connectionId);
+                ctx.close();
+            }
         } else {
             logger.warn("Received unexpected message type: {}", msg.getClass().getName());
         }
     }
     
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        Channel channel = ctx.channel();
+        if (!channel.isWritable()) {
+            // Outbound buffer passed the high water mark; give the client a grace period to drain it
+            long since = System.nanoTime();
+            unwritableSince = since;
+            int maxUnwritable = OutboundBackpressure.getMaxUnwritableMillis();
+            ctx.executor().schedule(() -> {
+                if (unwritableSince == since && channel.isActive() && !channel.isWritable()) {
+                    logger.warn("Disconnecting connection {}: outbound buffer not drained for {} ms",
+                        channel.attr(CONNECTION_ID_KEY).get(), maxUnwritable);
+                    channel.close();
+                }
+            }, maxUnwritable, TimeUnit.MILLISECONDS);
+        } else {
+            unwritableSince = 0;
+            if (Boolean.TRUE.equals(channel.attr(OutboundBackpressure.STATUS_STALE).getAndSet(null))) {
+                sendStatusSnapshot(channel);
+            }
+        }
+        
+        super.channelWritabilityChanged(ctx);
+    }
+    
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent idle && idle.state() == IdleState.READER_IDLE) {
+            // Nothing received for a full ping interval: ping, or disconnect if the last ping went unanswered
+            Long connectionId = ctx.channel().attr(CONNECTION_ID_KEY).get();
+            if (connectionId != null && !gameClientManager.handleIdle(connectionId)) {
+                ctx.close();
+            }
+            return;
+        }
+        
+        super.userEventTriggered(ctx, evt);
+    }
+    
+    /**
+     * Queues the full status of every user in the client's room for the room's tick thread.
+     * Replaces the status updates that were dropped while the client was congested.
+     */
+    private void sendStatusSnapshot(Channel channel) {
+        Long connectionId = channel.attr(CONNECTION_ID_KEY).get();
+        if (connectionId == null) {
+            return;
+        }
+        
+        GameClient client = gameClientManager.getClient(connectionId);
+        if (client == null || client.getHabbo() == null || !client.getHabbo().isInRoom()) {
+            return;
+        }
+        
+        Game game = GameEnvironment.getInstance().getGame();
+        Room room = game != null ? game.getRoomManager().getRoom(client.getHabbo().getCurrentRoomId()) : null;
+        if (room == null) {
+            return;
+        }
+        
+        // Room state belongs to the tick thread; serialize it there, not on the event loop
+        long roomId = room.getRoomId();
+        room.submitCommand(() -> {
+            if (client.getHabbo() == null || client.getHabbo().getCurrentRoomId() != roomId) {
+                return; // Left the room meanwhile
+            }
+            
+            ServerMessage statuses = room.serializeStatusUpdates(true);
+            if (statuses != null) {
+                client.sendMessage(statuses);
+            }
+        });
+    }
+    
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
         // Get connection ID from channel attributes
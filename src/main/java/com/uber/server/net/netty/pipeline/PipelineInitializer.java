@@ -5,13 +5,18 @@ import com.uber.server.net.TcpConnection;
 import com.uber.server.net.TcpConnectionManager;
 import com.uber.server.net.netty.codec.HabboPacketDecoder;
 import com.uber.server.net.netty.codec.HabboPacketEncoder;
+import com.uber.server.net.netty.codec.PolicyRequestDecoder;
 import com.uber.server.net.netty.handler.HabboChannelHandler;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.AttributeKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Initializes Netty pipeline for Habbo protocol.
  * Extracted from TcpConnectionListener to decouple pipeline setup.
@@ -19,6 +24,7 @@ import org.slf4j.LoggerFactory;
 public class PipelineInitializer {
     private static final Logger logger = LoggerFactory.getLogger(PipelineInitializer.class);
     private static final AttributeKey<Long> CONNECTION_ID_KEY = AttributeKey.valueOf("connectionId");
+    private static final int FLUSH_LIMIT = FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES;
     
     private final TcpConnectionManager connectionManager;
     private final GameClientManager gameClientManager;
@@ -54,6 +60,15 @@ public class PipelineInitializer {
         }
         
         ChannelPipeline pipeline = ch.pipeline();
+        // Coalesce flushes: while a read is in progress they are flushed once at the end of the
+        // read, otherwise flushes from game threads are merged into one per event-loop turn
+        pipeline.addLast("flush", new FlushConsolidationHandler(FLUSH_LIMIT, true));
+        int pingInterval = gameClientManager.getPingInterval();
+        if (pingInterval > 0) {
+            // Per-connection reader idle timer; fires a READER_IDLE event for HabboChannelHandler
+            pipeline.addLast("idle", new IdleStateHandler(pingInterval, 0, 0, TimeUnit.MILLISECONDS));
+        }
+        pipeline.addLast("policy", new PolicyRequestDecoder()); // Removes itself after the first game packet
         pipeline.addLast("decoder", new HabboPacketDecoder());
         pipeline.addLast("encoder", new HabboPacketEncoder());
         pipeline.addLast("handler", new HabboChannelHandler(connectionManager, gameClientManager));
@@ -0,0 +1,74 @@
+package com.uber.server.repository;
+
+import com.uber.server.storage.DatabaseExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Asynchronous view of a repository.
+ * Calls run on the database executor's virtual threads, so room ticks and packet handlers
+ * can fire persistence and carry on. Results keep the repository's own conventions
+ * (false, -1 or an empty list on failure); the future only completes exceptionally on
+ * unexpected runtime errors.
+ *
+ * <pre>
+ * game.getRoomItemRepositoryAsync().runOrdered(itemId, repo -> repo.updateExtraData(itemId, data));
+ * game.getChatLogRepositoryAsync().run(repo -> repo.logChat(...));
+ * </pre>
+ *
+ * @param <R> Repository type
+ */
+public class AsyncRepository<R> {
+    private final R repository;
+    private final DatabaseExecutor executor;
+    
+    public AsyncRepository(R repository, DatabaseExecutor executor) {
+        this.repository = repository;
+        this.executor = executor;
+    }
+    
+    /**
+     * Runs a repository call and returns its result.
+     * @param query Repository call
+     * @return Future completed with the call's result
+     */
+    public <T> CompletableFuture<T> call(Function<R, T> query) {
+        return executor.supply(() -> query.apply(repository));
+    }
+    
+    /**
+     * Runs a repository call whose result is not needed.
+     * @param update Repository call
+     * @return Future completed when the call has finished
+     */
+    public CompletableFuture<Void> run(Consumer<R> update) {
+        return executor.supply(() -> {
+            update.accept(repository);
+            return null;
+        });
+    }
+    
+    /**
+     * Runs a repository call after all earlier calls submitted with the same key.
+     * Use the row ID as key for writes that must land in order.
+     * @param key Ordering key
+     * @param update Repository call
+     * @return Future completed when the call has finished
+     */
+    public CompletableFuture<Void> runOrdered(Object key, Consumer<R> update) {
+        return executor.supplyOrdered(java.util.Map.entry(repository, key), () -> {
+            update.accept(repository);
+            return null;
+        });
+    }
+    
+    /**
+     * Gets the underlying synchronous repository.
+     * @return Repository
+     */
+    public R sync() {
+        return repository;
+    }
+}
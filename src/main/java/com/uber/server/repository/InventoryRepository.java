@@ -77,6 +77,40 @@ public class InventoryRepository {
         }
     }
     
+    /**
+     * Creates several user items in one batch.
+     * @param userId User ID
+     * @param itemIds Item IDs
+     * @param baseItems Base item IDs
+     * @param extraData Extra data per item
+     * @return True if the batch was executed
+     */
+    public boolean createUserItems(long userId, long[] itemIds, long[] baseItems, String[] extraData) {
+        if (itemIds.length == 0) {
+            return true;
+        }
+        
+        String sql = "INSERT INTO user_items (id, user_id, base_item, extra_data) VALUES (?, ?, ?, ?)";
+        
+        try (Connection conn = databasePool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < itemIds.length; i++) {
+                stmt.setLong(1, itemIds[i]);
+                stmt.setLong(2, userId);
+                stmt.setLong(3, baseItems[i]);
+                stmt.setString(4, extraData[i]);
+                stmt.addBatch();
+            }
+            
+            stmt.executeBatch();
+            return true;
+        } catch (SQLException e) {
+            logger.error("Failed to create {} user items for user {}: {}", itemIds.length, userId, e.getMessage(), e);
+            return false;
+        }
+    }
+    
     /**
      * Creates a user present (gift).
      * @param itemId Item ID
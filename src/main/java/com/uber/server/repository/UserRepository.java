@@ -543,6 +543,39 @@ public class UserRepository {
         }
     }
     
+    /**
+     * Updates activity points for many users in a single JDBC batch.
+     * The arrays are parallel: index i holds one user's update.
+     * @param userIds User IDs
+     * @param activityPoints New activity points amounts
+     * @param lastUpdates Last update timestamps
+     * @return True if the batch was executed
+     */
+    public boolean updateActivityPoints(long[] userIds, int[] activityPoints, long[] lastUpdates) {
+        if (userIds.length == 0) {
+            return true;
+        }
+        
+        String sql = "UPDATE users SET activity_points = ?, activity_points_lastupdate = ? WHERE id = ? LIMIT 1";
+        
+        try (Connection conn = databasePool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < userIds.length; i++) {
+                stmt.setInt(1, activityPoints[i]);
+                stmt.setLong(2, lastUpdates[i]);
+                stmt.setLong(3, userIds[i]);
+                stmt.addBatch();
+            }
+            
+            stmt.executeBatch();
+            return true;
+        } catch (SQLException e) {
+            logger.error("Failed to update activity points for {} users: {}", userIds.length, e.getMessage(), e);
+            return false;
+        }
+    }
+    
     /**
      * Gets user data by user ID.
      * @param userId User ID
@@ -0,0 +1,163 @@
+package com.uber.server.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking database work off the caller's thread.
+ * Every task gets its own virtual thread, but at most as many run at once as the connection
+ * pool has connections; the rest park on a semaphore instead of queueing inside Hikari and
+ * timing out. Tasks submitted with the same key run one after another in submission order,
+ * so repeated writes to the same row cannot overtake each other.
+ */
+public class DatabaseExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseExecutor.class);
+    
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final AtomicInteger pending;
+    private final ConcurrentHashMap<Object, CompletableFuture<?>> lanes;
+    
+    /**
+     * Creates a new executor.
+     * @param maxConcurrency Maximum number of tasks running at once (the pool size)
+     */
+    public DatabaseExecutor(int maxConcurrency) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("Database-", 1).factory());
+        this.permits = new Semaphore(this.maxConcurrency);
+        this.pending = new AtomicInteger(0);
+        this.lanes = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * Runs a task that produces a result.
+     * @param task Task to run
+     * @return Future completed with the task's result, or exceptionally if it threw
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        pending.incrementAndGet();
+        return submit(task).whenComplete(DatabaseExecutor::logFailure);
+    }
+    
+    /**
+     * Runs a task after every task previously submitted with the same key has finished.
+     * The task counts as pending from this call, even while it waits for its turn.
+     * @param key Ordering key, typically a row ID
+     * @param task Task to run
+     * @return Future completed with the task's result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> supplyOrdered(Object key, Supplier<T> task) {
+        pending.incrementAndGet();
+        CompletableFuture<?>[] created = new CompletableFuture<?>[1];
+        lanes.compute(key, (k, previous) -> {
+            CompletableFuture<T> next = previous == null
+                ? submit(task)
+                : previous.handle((result, e) -> null).thenCompose(ignored -> submit(task));
+            created[0] = next.whenComplete(DatabaseExecutor::logFailure);
+            return created[0];
+        });
+        
+        CompletableFuture<T> future = (CompletableFuture<T>) created[0];
+        future.whenComplete((result, e) -> lanes.remove(key, future)); // Last in line cleans up
+        return future;
+    }
+    
+    /**
+     * Hands an already counted task to the executor; the pending count drops when it finishes
+     * or is rejected.
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    return task.get();
+                } finally {
+                    permits.release();
+                    pending.decrementAndGet();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private static void logFailure(Object result, Throwable e) {
+        if (e != null) {
+            logger.error("Database task failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Gets the number of tasks submitted but not yet finished.
+     * @return Pending task count
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+    
+    /**
+     * Gets the maximum number of tasks running at once.
+     * @return Concurrency limit
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    /**
+     * Waits for pending writes to finish, then stops accepting tasks.
+     * Ordered tasks only reach the executor once the task ahead of them is done, so every lane
+     * is drained before the executor is shut down.
+     * @param timeoutMillis Maximum time to wait
+     */
+    public void shutdown(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            while (!lanes.isEmpty()) {
+                CompletableFuture<?>[] tails = lanes.values().toArray(new CompletableFuture<?>[0]);
+                CompletableFuture<Void> all = CompletableFuture.allOf(tails);
+                if (all.isDone()) {
+                    break; // Only finished lanes left, waiting for their cleanup
+                }
+                
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    all.get(remaining, TimeUnit.NANOSECONDS);
+                } catch (ExecutionException e) {
+                    // Already logged by the failing task
+                } catch (TimeoutException e) {
+                    break;
+                }
+            }
+            
+            executor.shutdown();
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            if (!executor.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                logger.warn("Database executor did not finish {} pending tasks within timeout", pending.get());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -15,6 +15,7 @@ import java.sql.SQLException;
 public class DatabasePool {
     private static final Logger logger = LoggerFactory.getLogger(DatabasePool.class);
     private final HikariDataSource dataSource;
+    private final DatabaseExecutor executor;
     
     /**
      * Creates a new database pool from configuration.
@@ -82,6 +83,9 @@ public class DatabasePool {
             logger.error("Failed to initialize database pool: {}", e.getMessage(), e);
             throw e;
         }
+        
+        // Async repository calls never hold more connections than the pool has
+        this.executor = new DatabaseExecutor(maxSize);
     }
     
     /**
@@ -93,6 +97,14 @@ public class DatabasePool {
         return dataSource.getConnection();
     }
     
+    /**
+     * Gets the executor for asynchronous database work, bounded by the pool size.
+     * @return DatabaseExecutor instance
+     */
+    public DatabaseExecutor getExecutor() {
+        return executor;
+    }
+    
     /**
      * Gets the underlying HikariDataSource.
      * @return The HikariDataSource
@@ -105,6 +117,10 @@ public class DatabasePool {
      * Closes the connection pool and releases all resources.
      */
     public void close() {
+        if (executor != null) {
+            executor.shutdown(10000); // Let queued writes reach the database first
+        }
+        
         if (dataSource != null && !dataSource.isClosed()) {
             logger.info("Closing database pool...");
             dataSource.close();
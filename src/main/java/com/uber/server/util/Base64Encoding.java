@@ -3,10 +3,11 @@ package com.uber.server.util;
 /**
  * Base64-like encoding utilities for Habbo protocol.
  * Encodes integers into Base64-like byte sequences.
+ * Delegates to {@link com.uber.server.encoding.base64.Base64Encoding}.
  */
 public final class Base64Encoding {
-    public static final byte NEGATIVE = 64;
-    public static final byte POSITIVE = 65;
+    public static final byte NEGATIVE = com.uber.server.encoding.base64.Base64Encoding.NEGATIVE;
+    public static final byte POSITIVE = com.uber.server.encoding.base64.Base64Encoding.POSITIVE;
     
     private Base64Encoding() {
         // Utility class
@@ -19,12 +20,18 @@ public final class Base64Encoding {
      * @return Encoded byte array
      */
     public static byte[] encodeInt32(int i, int numBytes) {
-        byte[] result = new byte[numBytes];
-        for (int j = 1; j <= numBytes; j++) {
-            int k = (numBytes - j) * 6;
-            result[j - 1] = (byte) (0x40 + ((i >> k) & 0x3f));
-        }
-        return result;
+        return com.uber.server.encoding.base64.Base64Encoding.encodeInt32(i, numBytes);
+    }
+    
+    /**
+     * Encodes an integer in place.
+     * @param i The integer to encode
+     * @param numBytes Number of bytes to use for encoding
+     * @param dest Destination array
+     * @param offset Index of the first byte to write
+     */
+    public static void encodeInt32(int i, int numBytes, byte[] dest, int offset) {
+        com.uber.server.encoding.base64.Base64Encoding.encodeInt32(i, numBytes, dest, offset);
     }
     
     /**
@@ -34,7 +41,7 @@ public final class Base64Encoding {
      * @return Encoded byte array
      */
     public static byte[] encodeUInt32(long i, int numBytes) {
-        return encodeInt32((int) i, numBytes);
+        return com.uber.server.encoding.base64.Base64Encoding.encodeUInt32(i, numBytes);
     }
     
     /**
@@ -43,17 +50,18 @@ public final class Base64Encoding {
      * @return Decoded integer
      */
     public static int decodeInt32(byte[] data) {
-        int result = 0;
-        int j = 0;
-        for (int k = data.length - 1; k >= 0; k--) {
-            int x = (data[k] & 0xFF) - 0x40;
-            if (j > 0) {
-                x *= (int) Math.pow(64.0, j);
-            }
-            result += x;
-            j++;
-        }
-        return result;
+        return com.uber.server.encoding.base64.Base64Encoding.decodeInt32(data);
+    }
+    
+    /**
+     * Decodes a Base64-like integer in place from a byte array.
+     * @param data Source array
+     * @param offset Index of the first encoded byte
+     * @param numBytes Number of encoded bytes
+     * @return Decoded integer
+     */
+    public static int decodeInt32(byte[] data, int offset, int numBytes) {
+        return com.uber.server.encoding.base64.Base64Encoding.decodeInt32(data, offset, numBytes);
     }
     
     /**
@@ -62,6 +70,6 @@ public final class Base64Encoding {
      * @return Decoded unsigned integer as long
      */
     public static long decodeUInt32(byte[] data) {
-        return Integer.toUnsignedLong(decodeInt32(data));
+        return com.uber.server.encoding.base64.Base64Encoding.decodeUInt32(data);
     }
 }
@@ -3,11 +3,12 @@ package com.uber.server.util;
 /**
  * Wire encoding utilities for Habbo protocol variable-length integers.
  * Uses a custom encoding scheme for efficient integer representation.
+ * Delegates to {@link com.uber.server.encoding.wire.WireEncoding}.
  */
 public final class WireEncoding {
-    public static final byte NEGATIVE = 72;
-    public static final byte POSITIVE = 73;
-    public static final int MAX_INTEGER_BYTE_AMOUNT = 6;
+    public static final byte NEGATIVE = com.uber.server.encoding.wire.WireEncoding.NEGATIVE;
+    public static final byte POSITIVE = com.uber.server.encoding.wire.WireEncoding.POSITIVE;
+    public static final int MAX_INTEGER_BYTE_AMOUNT = com.uber.server.encoding.wire.WireEncoding.MAX_INTEGER_BYTE_AMOUNT;
     
     private WireEncoding() {
         // Utility class
@@ -19,28 +20,18 @@ public final class WireEncoding {
      * @return Encoded byte array (variable length, 1-6 bytes)
      */
     public static byte[] encodeInt32(int i) {
-        byte[] workBuffer = new byte[MAX_INTEGER_BYTE_AMOUNT];
-        
-        int pos = 0;
-        int numBytes = 1;
-        int startPos = pos;
-        int negativeMask = i >= 0 ? 0 : 4;
-        
-        int absValue = Math.abs(i);
-        
-        workBuffer[pos++] = (byte) (64 + (absValue & 3));
-        
-        for (absValue >>= 2; absValue != 0; absValue >>= 6) {
-            numBytes++;
-            workBuffer[pos++] = (byte) (64 + (absValue & 0x3f));
-        }
-        
-        workBuffer[startPos] = (byte) (workBuffer[startPos] | (numBytes << 3) | negativeMask);
-        
-        byte[] result = new byte[numBytes];
-        System.arraycopy(workBuffer, 0, result, 0, numBytes);
-        
-        return result;
+        return com.uber.server.encoding.wire.WireEncoding.encodeInt32(i);
+    }
+    
+    /**
+     * Encodes an integer in place.
+     * @param i The integer to encode
+     * @param dest Destination array, with at least {@link #MAX_INTEGER_BYTE_AMOUNT} bytes free at offset
+     * @param offset Index of the first byte to write
+     * @return Number of bytes written
+     */
+    public static int encodeInt32(int i, byte[] dest, int offset) {
+        return com.uber.server.encoding.wire.WireEncoding.encodeInt32(i, dest, offset);
     }
     
     /**
@@ -50,37 +41,18 @@ public final class WireEncoding {
      * @return Decoded integer
      */
     public static int decodeInt32(byte[] data, int[] totalBytesOut) {
-        if (data == null || data.length == 0) {
-            totalBytesOut[0] = 0;
-            return 0;
-        }
-        
-        int pos = 0;
-        int value = 0;
-        
-        boolean negative = (data[pos] & 4) == 4;
-        int totalBytes = (data[pos] >> 3) & 7;
-        value = data[pos] & 3;
-        
-        pos++;
-        
-        int shiftAmount = 2;
-        
-        for (int b = 1; b < totalBytes; b++) {
-            if (pos >= data.length) {
-                break;
-            }
-            value |= ((data[pos] & 0x3f) << shiftAmount);
-            shiftAmount = 2 + 6 * b;
-            pos++;
-        }
-        
-        if (negative) {
-            value = -value;
-        }
-        
-        totalBytesOut[0] = totalBytes;
-        return value;
+        return com.uber.server.encoding.wire.WireEncoding.decodeInt32(data, totalBytesOut);
+    }
+    
+    /**
+     * Decodes a wire-encoded integer in place from a byte array.
+     * @param data Source array
+     * @param offset Index of the first encoded byte
+     * @param available Number of readable bytes from offset
+     * @return Decoded integer
+     */
+    public static int decodeInt32(byte[] data, int offset, int available) {
+        return com.uber.server.encoding.wire.WireEncoding.decodeInt32(data, offset, available);
     }
     
     /**
@@ -89,9 +61,11 @@ public final class WireEncoding {
      * @return Result object containing decoded integer and bytes consumed
      */
     public static DecodeResult decodeInt32(byte[] data) {
-        int[] totalBytes = new int[1];
-        int value = decodeInt32(data, totalBytes);
-        return new DecodeResult(value, totalBytes[0]);
+        if (data == null || data.length == 0) {
+            return new DecodeResult(0, 0);
+        }
+        int value = decodeInt32(data, 0, data.length);
+        return new DecodeResult(value, com.uber.server.encoding.wire.WireEncoding.getDecodedLength(data[0]));
     }
     
     /**